@@ -0,0 +1,112 @@
+package libs.java.extension.collections.observable.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.VirtualThreadDispatcher;
+
+/**
+ * Listeners blocking 5 ms per event, events published at 10k events/sec for
+ * one second. Measures time till last event is delivered, with fixed pool
+ * executor and with {@link VirtualThreadDispatcher}.
+ *
+ * @author Kuldeep
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BlockingListenerBenchmark {
+
+	private static final int EVENTS_PER_SECOND = 10000;
+	private static final long BLOCK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+	@Param({ "FIXED_POOL", "VIRTUAL_THREAD" })
+	public String mode;
+
+	@Param({ "4" })
+	public int listeners;
+
+	/**
+	 * Threads of fixed pool
+	 */
+	@Param({ "64" })
+	public int poolSize;
+
+	/**
+	 * Max virtual threads per listener
+	 */
+	@Param({ "64" })
+	public int concurrency;
+
+	private ExecutorService pool;
+	private NotificationList<Integer> list;
+	private volatile CountDownLatch delivered;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		if ("FIXED_POOL".equals(mode)) {
+			pool = Executors.newFixedThreadPool(poolSize);
+			list = new NotificationList<>(new ArrayList<>(), pool);
+		} else {
+			list = new NotificationList<>(new ArrayList<>(), new VirtualThreadDispatcher(concurrency));
+		}
+		for (int i = 0; i < listeners; i++) {
+			list.addListener(event -> {
+				LockSupport.parkNanos(BLOCK_NANOS);
+				delivered.countDown();
+			}, EnumSet.of(NotificationEventType.ADD));
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		if (pool != null) {
+			pool.shutdownNow();
+			pool = null;
+		}
+	}
+
+	@Benchmark
+	public List<Integer> publishOneSecond() throws InterruptedException {
+		delivered = new CountDownLatch(EVENTS_PER_SECOND * listeners);
+		long interval = TimeUnit.SECONDS.toNanos(1) / EVENTS_PER_SECOND;
+		long next = System.nanoTime();
+		for (int i = 0; i < EVENTS_PER_SECOND; i++) {
+			long wait = next - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			list.add(i);
+			next += interval;
+		}
+		delivered.await();
+		list.clear();
+		return list;
+	}
+}
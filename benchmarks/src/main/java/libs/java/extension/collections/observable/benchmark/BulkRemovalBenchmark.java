@@ -0,0 +1,106 @@
+package libs.java.extension.collections.observable.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import libs.java.extension.collections.observable.NotificationList;
+
+/**
+ * retainAll / removeAll of half of a list with duplicates, with exact Delete
+ * multi event. Single pass capture of {@link NotificationList} against the
+ * previous implementation (scan of collection, then contains on list of
+ * contained elements), kept here as legacy methods.
+ *
+ * @author Kuldeep
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkRemovalBenchmark {
+
+	@Param({ "10000", "100000" })
+	public int size;
+
+	private List<Integer> list;
+	private NotificationList<Integer> notificationList;
+	private Set<Integer> half;
+	private int removed;
+
+	@Setup(Level.Invocation)
+	public void setUp() {
+		list = new ArrayList<>(size);
+		half = new HashSet<>();
+		for (int i = 0; i < size; i++) {
+			// every value twice
+			list.add(i / 2);
+			if (i % 4 == 0) {
+				half.add(i / 2);
+			}
+		}
+		notificationList = new NotificationList<>(new ArrayList<>(list));
+		notificationList.addListener(event -> removed = event.getElements().size());
+	}
+
+	@Benchmark
+	public int retainAll() {
+		notificationList.retainAll(half);
+		return removed;
+	}
+
+	@Benchmark
+	public int retainAllLegacy() {
+		Collection<Integer> removedElements = new ArrayList<>();
+		Collection<Integer> containedElements = new ArrayList<>();
+		for (Integer e : list) {
+			if (half.contains(e)) {
+				containedElements.add(e);
+			}
+		}
+		for (Integer e : list) {
+			if (!containedElements.contains(e)) {
+				removedElements.add(e);
+			}
+		}
+		list.retainAll(half);
+		return removedElements.size();
+	}
+
+	@Benchmark
+	public int removeAll() {
+		notificationList.removeAll(half);
+		return removed;
+	}
+
+	@Benchmark
+	public int removeAllLegacy() {
+		Collection<Integer> removedElements = new ArrayList<>();
+		for (Integer e : list) {
+			if (half.contains(e)) {
+				removedElements.add(e);
+			}
+		}
+		list.removeAll(half);
+		return removedElements.size();
+	}
+}
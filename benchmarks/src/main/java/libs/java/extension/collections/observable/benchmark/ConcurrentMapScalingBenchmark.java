@@ -0,0 +1,80 @@
+package libs.java.extension.collections.observable.benchmark;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import libs.java.extension.collections.observable.NotificationConcurrentMap;
+
+/**
+ * Throughput of atomic updates of {@link NotificationConcurrentMap} with a
+ * listener, against plain {@link ConcurrentHashMap}. Run with increasing
+ * thread count to check scaling, e.g. java -jar target/benchmarks.jar
+ * ConcurrentMapScaling -t 64 (and -t 1, 2, 4 ... for the curve).
+ *
+ * @author Kuldeep
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentMapScalingBenchmark {
+
+	@Param({ "65536" })
+	public int keys;
+
+	private ConcurrentHashMap<Integer, Integer> plain;
+	private NotificationConcurrentMap<Integer, Integer> observed;
+	private final LongAdder events = new LongAdder();
+
+	@Setup
+	public void setUp() {
+		plain = new ConcurrentHashMap<>();
+		observed = new NotificationConcurrentMap<>(new ConcurrentHashMap<>());
+		observed.addListener(event -> events.increment());
+		for (int i = 0; i < keys; i++) {
+			plain.put(i, 0);
+			observed.put(i, 0);
+		}
+	}
+
+	private int key() {
+		return ThreadLocalRandom.current().nextInt(keys);
+	}
+
+	@Benchmark
+	public Integer mergePlain() {
+		return plain.merge(key(), 1, Integer::sum);
+	}
+
+	@Benchmark
+	public Integer mergeObserved() {
+		return observed.merge(key(), 1, Integer::sum);
+	}
+
+	@Benchmark
+	public Integer computeObserved() {
+		return observed.compute(key(), (k, v) -> v == null ? 1 : v + 1);
+	}
+
+	@Benchmark
+	public Integer putIfAbsentObserved() {
+		return observed.putIfAbsent(key(), 1);
+	}
+}
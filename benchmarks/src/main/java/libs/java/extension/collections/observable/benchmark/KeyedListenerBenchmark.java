@@ -0,0 +1,82 @@
+package libs.java.extension.collections.observable.benchmark;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import libs.java.extension.collections.observable.NotificationMap;
+
+/**
+ * 10k subscribers, one per key. Compares put on a map with key listeners
+ * against a map where each subscriber is a global listener filtering its
+ * key, and clear of a map with key listeners (union of all key listeners).
+ *
+ * @author Kuldeep
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeyedListenerBenchmark {
+
+	@Param({ "10000" })
+	public int subscribers;
+
+	private NotificationMap<Integer, Integer> keyed;
+	private NotificationMap<Integer, Integer> global;
+	private Blackhole blackhole;
+	private int next;
+
+	@Setup
+	public void setUp(Blackhole blackhole) {
+		this.blackhole = blackhole;
+		keyed = new NotificationMap<>(new HashMap<>());
+		global = new NotificationMap<>(new HashMap<>());
+		for (int i = 0; i < subscribers; i++) {
+			int key = i;
+			keyed.addListener(key, event -> this.blackhole.consume(event));
+			global.addListener(event -> {
+				if (event.getElement().getKey() == key) {
+					this.blackhole.consume(event);
+				}
+			});
+		}
+	}
+
+	private int nextKey() {
+		next = next + 1 == subscribers ? 0 : next + 1;
+		return next;
+	}
+
+	@Benchmark
+	public Integer putKeyListeners() {
+		return keyed.put(nextKey(), next);
+	}
+
+	@Benchmark
+	public Integer putGlobalListeners() {
+		return global.put(nextKey(), next);
+	}
+
+	@Benchmark
+	public NotificationMap<Integer, Integer> clearKeyListeners() {
+		keyed.put(nextKey(), next);
+		keyed.clear();
+		return keyed;
+	}
+}
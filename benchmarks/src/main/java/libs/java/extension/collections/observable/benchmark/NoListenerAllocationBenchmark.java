@@ -0,0 +1,96 @@
+package libs.java.extension.collections.observable.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationMap;
+
+/**
+ * Hot operations of collections without listener, should allocate nothing
+ * for notification. Run with gc profiler and check gc.alloc.rate.norm (bytes
+ * per op), e.g. java -jar target/benchmarks.jar NoListenerAllocation -prof gc
+ * <br>
+ * listIterate allocates only the iterator (wrapper and underlying), once per
+ * iteration of whole list, nothing per element.
+ *
+ * @author Kuldeep
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoListenerAllocationBenchmark {
+
+	private static final int SIZE = 1024;
+
+	private NotificationList<Integer> list;
+	private NotificationMap<Integer, Integer> map;
+	private Integer[] values;
+	private int index;
+
+	@Setup
+	public void setUp() {
+		values = new Integer[SIZE];
+		list = new NotificationList<>(new ArrayList<>(SIZE * 2));
+		map = new NotificationMap<>(new HashMap<>(SIZE * 2));
+		for (int i = 0; i < SIZE; i++) {
+			values[i] = i;
+			list.add(values[i]);
+			map.put(values[i], values[i]);
+		}
+	}
+
+	private int next() {
+		index = (index + 1) & (SIZE - 1);
+		return index;
+	}
+
+	@Benchmark
+	public Integer listGet() {
+		return list.get(next());
+	}
+
+	@Benchmark
+	public Integer listSet() {
+		int i = next();
+		return list.set(i, values[i]);
+	}
+
+	@Benchmark
+	public int listIterate() {
+		int sum = 0;
+		Iterator<Integer> iterator = list.iterator();
+		while (iterator.hasNext()) {
+			sum += iterator.next();
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public Integer mapPut() {
+		int i = next();
+		return map.put(values[i], values[i]);
+	}
+
+	@Benchmark
+	public Integer mapGet() {
+		return map.get(values[next()]);
+	}
+}
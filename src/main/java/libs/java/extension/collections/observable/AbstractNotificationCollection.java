@@ -2,14 +2,18 @@ package libs.java.extension.collections.observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Spliterator;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 import libs.java.extension.collections.observable.notifier.AddMultiNotifier;
 import libs.java.extension.collections.observable.notifier.AddNotifier;
 import libs.java.extension.collections.observable.notifier.ClearNotifier;
-import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
 import libs.java.extension.collections.observable.notifier.DeleteNotifier;
 import libs.java.extension.collections.observable.notifier.NotifierAgent;
 
@@ -31,7 +35,7 @@ public class AbstractNotificationCollection<E> extends NotificationCollection<E>
 	@Override
 	public boolean add(E e) {
 		boolean added = collection.add(e);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
 		}
 		return added;
@@ -40,7 +44,7 @@ public class AbstractNotificationCollection<E> extends NotificationCollection<E>
 	@Override
 	public boolean addAll(Collection<? extends E> c) {
 		boolean added = collection.addAll(c);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddMultiNotifier<E>(c), listeners, ex);
 		}
 		return added;
@@ -48,12 +52,14 @@ public class AbstractNotificationCollection<E> extends NotificationCollection<E>
 
 	@Override
 	public void clear() {
-		List<E> elements = new ArrayList<>();
-		if (CLEAR_METHOD_COPY_ENABLED) {
-			elements = collection.stream().collect(Collectors.toList());
+		List<E> elements = Collections.emptyList();
+		if (CLEAR_METHOD_COPY_ENABLED && listeners.needsElements(NotificationEventType.CLEAR)) {
+			elements = new ArrayList<>(collection);
 		}
 		collection.clear();
-		NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		if (listeners.accepts(NotificationEventType.CLEAR)) {
+			NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		}
 		return;
 	}
 
@@ -74,15 +80,31 @@ public class AbstractNotificationCollection<E> extends NotificationCollection<E>
 
 	@Override
 	public Iterator<E> iterator() {
-		return new NotificationIterator<>(collection.iterator(), listeners, ex);
+		return new NotificationIterator<>(collection.iterator(), listeners, ex, readChunkSize, readSampler);
+	}
+
+	/**
+	 * Returns {@link NotificationSpliterator}, so stream and parallel stream
+	 * generate Read multi event per split NotifictionEventType =
+	 * {@link NotificationEventType#READ}. Underlying spliterator is returned
+	 * when no listener wants read events.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			return collection.spliterator();
+		}
+		return new NotificationSpliterator<>(collection.spliterator(), listeners, ex);
 	}
 
 	@Override
 	public boolean remove(Object element) {
 		boolean removed = collection.remove(element);
-		if (removed) {
+		if (removed && listeners.accepts(NotificationEventType.DELETE)) {
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<E>((E) element), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 			}
 		}
@@ -91,50 +113,37 @@ public class AbstractNotificationCollection<E> extends NotificationCollection<E>
 
 	@Override
 	public boolean removeAll(Collection<?> elements) {
-		Collection<E> removedElements = new ArrayList<>();
-		if (REMOVEALL_METHOD_COPY_ENABLED) {
-			for (E e : collection) {
-				if (elements.contains(e)) {
-					removedElements.add(e);
-				}
-			}
-		}
-		boolean removed = collection.removeAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
-
-		return removed;
+		return bulkRemove(collection, elements, false, REMOVEALL_METHOD_COPY_ENABLED);
 	}
 
 	@Override
 	public boolean retainAll(Collection<?> elements) {
-		Collection<E> removedElements = new ArrayList<>();
-		if (RETAIN_METHOD_COPY_ENABLED) {
-			Collection<E> containedElements = new ArrayList<>();
-			for (E e : collection) {
-				if (elements.contains(e)) {
-					containedElements.add(e);
-				}
-			}
-			for (E e : collection) {
-				if (!containedElements.contains(e)) {
-					removedElements.add(e);
-				}
-			}
-		}
-		boolean removed = collection.retainAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
+		return bulkRemove(collection, elements, true, RETAIN_METHOD_COPY_ENABLED);
+	}
 
-		return removed;
+	/**
+	 * Removes elements matching filter, and notifies listener for Delete multi
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 * {@link Collection#removeIf(Predicate)}. Uses underlying collection's removeIf, one
+	 * event per call
+	 * 
+	 * @param filter
+	 *            elements to remove
+	 * @return status
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		return removeMatching(collection, filter, true);
+	}
+
+	/**
+	 * Performs action on each element, and notifies listener for Read multi
+	 * event NotifictionEventType = {@link NotificationEventType#READ}
+	 * {@link Collection#forEach(Consumer)}. One event per call, not per element
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		forEachRead(collection, action);
 	}
 
 	@Override
@@ -0,0 +1,18 @@
+package libs.java.extension.collections.observable;
+
+/**
+ * Listener which is told when a batch of events ends. Batching dispatchers
+ * (e.g.
+ * {@link libs.java.extension.collections.observable.notifier.RingBufferDispatcher})
+ * deliver all available events one by one and then call
+ * {@link #onEndOfBatch()}, so listener can buffer work (e.g. write to db) and
+ * flush once per batch.
+ * 
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+public interface BatchNotificationListener<E> extends NotificationListener<E> {
+
+	public void onEndOfBatch();
+}
@@ -0,0 +1,81 @@
+package libs.java.extension.collections.observable;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+/**
+ * Change of single key of {@link NotificationMap}, delivered to
+ * {@link MapChangeListener}. Values by type -
+ * <ul>
+ * <li>ADD - new value</li>
+ * <li>MODIFY - old and new value</li>
+ * <li>DELETE - old value</li>
+ * <li>READ - value read, as old and new value</li>
+ * <li>CLEAR - no key or values</li>
+ * </ul>
+ * Note - when listeners are notified in caller thread (no executor), map
+ * reuses event object, so it must not be kept after listener returns.
+ * 
+ * @author Kuldeep
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class MapChangeEvent<K, V> {
+	private NotificationEventType type;
+	private K key;
+	private V oldValue;
+	private V newValue;
+
+	public MapChangeEvent(NotificationEventType type, K key, V oldValue, V newValue) {
+		set(type, key, oldValue, newValue);
+	}
+
+	void set(NotificationEventType type, K key, V oldValue, V newValue) {
+		this.type = type;
+		this.key = key;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	public NotificationEventType getType() {
+		return type;
+	}
+
+	public K getKey() {
+		return key;
+	}
+
+	public V getOldValue() {
+		return oldValue;
+	}
+
+	public V getNewValue() {
+		return newValue;
+	}
+
+	public boolean isAdd() {
+		return type == NotificationEventType.ADD;
+	}
+
+	public boolean isModify() {
+		return type == NotificationEventType.MODIFY;
+	}
+
+	public boolean isDelete() {
+		return type == NotificationEventType.DELETE;
+	}
+
+	public boolean isClear() {
+		return type == NotificationEventType.CLEAR;
+	}
+
+	public boolean isRead() {
+		return type == NotificationEventType.READ;
+	}
+
+	@Override
+	public String toString() {
+		return "MapChangeEvent [type=" + type + ", key=" + key + ", oldValue=" + oldValue + ", newValue=" + newValue
+				+ "]";
+	}
+}
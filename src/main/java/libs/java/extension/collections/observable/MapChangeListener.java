@@ -0,0 +1,33 @@
+package libs.java.extension.collections.observable;
+
+import java.util.List;
+
+/**
+ * Listener of {@link NotificationMap} changes, receives key, old and new value
+ * directly in {@link MapChangeEvent}, without {@link KeyValue} objects. See
+ * {@link NotificationMap#addChangeListener(MapChangeListener)}.
+ * 
+ * @author Kuldeep
+ *
+ * @param <K>
+ * @param <V>
+ */
+public interface MapChangeListener<K, V> {
+
+	public void onChange(MapChangeEvent<K, V> event);
+
+	/**
+	 * Receives changes of a bulk operation (putAll, replaceAll, getAll) in one
+	 * call, by default each change is passed to
+	 * {@link #onChange(MapChangeEvent)}
+	 * 
+	 * @param events
+	 *            changes, in order
+	 */
+	public default void onChanges(List<MapChangeEvent<K, V>> events) {
+		for (MapChangeEvent<K, V> event : events) {
+			onChange(event);
+		}
+	}
+
+}
@@ -0,0 +1,190 @@
+package libs.java.extension.collections.observable;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+import libs.java.extension.collections.observable.notifier.NotificationDispatcher;
+
+/**
+ * Registry of {@link MapChangeListener}s of a map, kept in a
+ * {@link ListenerRegistry} (copy on write, lock free add/remove, event type
+ * mask per listener) through an adapter per listener. Without executor,
+ * listeners are notified in caller thread with a reused event, so a change
+ * creates no object. With executor, one event and one task is created per
+ * change, listeners are notified in registration order in that task. Task of
+ * a key change is run by {@link NotificationDispatcher#execute(Object, Runnable)}
+ * (in order with events of that key), CLEAR and bulk tasks by
+ * {@link Executor#execute(Runnable)}.
+ * 
+ * @author Kuldeep
+ *
+ * @param <K>
+ * @param <V>
+ */
+class MapChangeRegistry<K, V> {
+
+	private final ListenerRegistry<MapChangeEvent<K, V>> registry = new ListenerRegistry<>(true);
+	/**
+	 * Event reused by synchronous notification, one per thread so threads
+	 * don't contend on it. Type is null while not in use.
+	 */
+	private final ThreadLocal<MapChangeEvent<K, V>> spare = new ThreadLocal<>();
+
+	boolean add(MapChangeListener<K, V> listener, EnumSet<NotificationEventType> types) {
+		if (types == null) {
+			throw new IllegalArgumentException("Event types can't be null");
+		}
+		if (listener == null) {
+			return false;
+		}
+		return registry.add(new Adapter<>(listener), types);
+	}
+
+	boolean remove(MapChangeListener<K, V> listener) {
+		if (listener == null) {
+			return false;
+		}
+		return registry.remove(new Adapter<>(listener));
+	}
+
+	/**
+	 * @return true if any listener wants event type
+	 */
+	boolean accepts(NotificationEventType type) {
+		return registry.accepts(type);
+	}
+
+	/**
+	 * Notifies change of single key
+	 */
+	void fire(NotificationEventType type, K key, V oldValue, V newValue, Executor ex) {
+		Snapshot<MapChangeEvent<K, V>> listeners = registry.snapshot();
+		if (!listeners.accepts(type)) {
+			return;
+		}
+		if (ex != null) {
+			MapChangeEvent<K, V> event = new MapChangeEvent<>(type, key, oldValue, newValue);
+			if (ex instanceof NotificationDispatcher && type != NotificationEventType.CLEAR) {
+				((NotificationDispatcher) ex).execute(key, () -> deliver(listeners, event));
+			} else {
+				ex.execute(() -> deliver(listeners, event));
+			}
+			return;
+		}
+		MapChangeEvent<K, V> event = spare.get();
+		if (event == null) {
+			event = new MapChangeEvent<>(null, null, null, null);
+			spare.set(event);
+		}
+		if (event.getType() != null) {
+			// change made by listener while event is delivered
+			deliver(listeners, new MapChangeEvent<>(type, key, oldValue, newValue));
+			return;
+		}
+		event.set(type, key, oldValue, newValue);
+		try {
+			deliver(listeners, event);
+		} finally {
+			event.set(null, null, null, null);
+		}
+	}
+
+	/**
+	 * Notifies changes of a bulk operation, each listener receives changes of
+	 * its event types in one call
+	 */
+	void fireAll(List<MapChangeEvent<K, V>> events, Executor ex) {
+		if (events.isEmpty()) {
+			return;
+		}
+		Snapshot<MapChangeEvent<K, V>> listeners = registry.snapshot();
+		if (ex != null) {
+			ex.execute(() -> deliverAll(listeners, events));
+		} else {
+			deliverAll(listeners, events);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> MapChangeListener<K, V> listener(Snapshot<MapChangeEvent<K, V>> listeners, int index) {
+		return ((Adapter<K, V>) listeners.listener(index)).listener;
+	}
+
+	private static <K, V> void deliver(Snapshot<MapChangeEvent<K, V>> listeners, MapChangeEvent<K, V> event) {
+		NotificationEventType type = event.getType();
+		for (int i = 0; i < listeners.size(); i++) {
+			if (listeners.accepts(i, type)) {
+				listener(listeners, i).onChange(event);
+			}
+		}
+	}
+
+	private static <K, V> void deliverAll(Snapshot<MapChangeEvent<K, V>> listeners,
+			List<MapChangeEvent<K, V>> events) {
+		EnumSet<NotificationEventType> types = EnumSet.noneOf(NotificationEventType.class);
+		for (MapChangeEvent<K, V> event : events) {
+			types.add(event.getType());
+		}
+		for (int i = 0; i < listeners.size(); i++) {
+			boolean all = true;
+			boolean any = false;
+			for (NotificationEventType type : types) {
+				if (listeners.accepts(i, type)) {
+					any = true;
+				} else {
+					all = false;
+				}
+			}
+			if (all) {
+				listener(listeners, i).onChanges(events);
+			} else if (any) {
+				List<MapChangeEvent<K, V>> accepted = new ArrayList<>();
+				for (MapChangeEvent<K, V> event : events) {
+					if (listeners.accepts(i, event.getType())) {
+						accepted.add(event);
+					}
+				}
+				listener(listeners, i).onChanges(accepted);
+			}
+		}
+	}
+
+	/**
+	 * Keeps change listener in {@link ListenerRegistry}, equal when wrapped
+	 * listeners are equal. Listener is called directly, not through
+	 * {@link #onEvent(NotificationEvent)}.
+	 */
+	private static final class Adapter<K, V> implements NotificationListener<MapChangeEvent<K, V>> {
+		private final MapChangeListener<K, V> listener;
+
+		Adapter(MapChangeListener<K, V> listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void onEvent(NotificationEvent<MapChangeEvent<K, V>> event) {
+			listener.onChange(event.getElement());
+		}
+
+		@Override
+		public boolean needsElements() {
+			return false;
+		}
+
+		@Override
+		public int hashCode() {
+			return listener.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Adapter && listener.equals(((Adapter<?, ?>) obj).listener);
+		}
+	}
+
+}
@@ -0,0 +1,246 @@
+package libs.java.extension.collections.observable;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.AddNotifier;
+import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
+import libs.java.extension.collections.observable.notifier.DeleteNotifier;
+import libs.java.extension.collections.observable.notifier.NotifierAgent;
+
+/**
+ * Observable {@link BlockingQueue}. put/offer notify Add event, take/poll
+ * notify Delete event after element is taken. drainTo and {@link #poll(int)}
+ * take elements in one call of underlying queue and notify one Delete multi
+ * event, so consumers taking batches pay notification once per batch. Events
+ * are sent after operation, so with many producers and consumers, Delete of
+ * an element may reach listeners before its Add. Usage <br>
+ * BlockingQueue<String> a = new NotificationBlockingQueue<>(new
+ * LinkedBlockingQueue<>(), executor, listener); a.put("ABC"); List<String>
+ * batch = a.poll(100);
+ *
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+public class NotificationBlockingQueue<E> extends NotificationQueue<E> implements BlockingQueue<E> {
+
+	/**
+	 * Constructor with underlying queue, no executor, so all notification will
+	 * be part of queue operation thread
+	 *
+	 * @param queue
+	 *            underlying queue
+	 */
+	public NotificationBlockingQueue(BlockingQueue<E> queue) {
+		this(queue, null);
+	}
+
+	/**
+	 * Constructor with queue and executor, all notification to listeners will
+	 * be sent using this executor
+	 *
+	 * @param queue
+	 *            underlying queue
+	 * @param ex
+	 *            executor
+	 */
+	public NotificationBlockingQueue(BlockingQueue<E> queue, Executor ex) {
+		this(queue, ex, null);
+	}
+
+	/**
+	 * Constructor with queue, executor and listener
+	 *
+	 * @param queue
+	 *            underlying queue
+	 * @param ex
+	 *            executor
+	 * @param listener
+	 *            listener for event
+	 * @throws IllegalArgumentException
+	 *             if queue is null
+	 */
+	public NotificationBlockingQueue(BlockingQueue<E> queue, Executor ex, NotificationListener<E> listener) {
+		super(queue, ex, listener);
+	}
+
+	private BlockingQueue<E> blockingQueue() {
+		return (BlockingQueue<E>) getQueue();
+	}
+
+	/**
+	 * Notifies Add event of element
+	 */
+	protected void notifyAdded(E e) {
+		if (listeners.accepts(NotificationEventType.ADD)) {
+			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
+		}
+	}
+
+	/**
+	 * Notifies Delete event of element, nothing if element is null
+	 */
+	protected void notifyDeleted(E e) {
+		if (e != null && listeners.accepts(NotificationEventType.DELETE)) {
+			NotifierAgent.instance().notify(new DeleteNotifier<E>(e), listeners, ex);
+		}
+	}
+
+	/**
+	 * Adds element, waiting for space if needed, and notifies listener for Add
+	 * event NotifictionEventType = {@link NotificationEventType#ADD}
+	 */
+	@Override
+	public void put(E e) throws InterruptedException {
+		blockingQueue().put(e);
+		notifyAdded(e);
+	}
+
+	/**
+	 * Adds element, waiting up to timeout for space, and notifies listener for
+	 * Add event if added
+	 */
+	@Override
+	public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+		boolean added = blockingQueue().offer(e, timeout, unit);
+		if (added) {
+			notifyAdded(e);
+		}
+		return added;
+	}
+
+	/**
+	 * Takes head of queue, waiting if needed, and notifies listener for Delete
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 */
+	@Override
+	public E take() throws InterruptedException {
+		E element = blockingQueue().take();
+		notifyDeleted(element);
+		return element;
+	}
+
+	/**
+	 * Takes head of queue, waiting up to timeout, and notifies listener for
+	 * Delete event if taken
+	 */
+	@Override
+	public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+		E element = blockingQueue().poll(timeout, unit);
+		notifyDeleted(element);
+		return element;
+	}
+
+	@Override
+	public int remainingCapacity() {
+		return blockingQueue().remainingCapacity();
+	}
+
+	/**
+	 * Moves all available elements to given collection, and notifies listener
+	 * for one Delete multi event NotifictionEventType =
+	 * {@link NotificationEventType#DELETE}, see
+	 * {@link BlockingQueue#drainTo(Collection)}
+	 */
+	@Override
+	public int drainTo(Collection<? super E> c) {
+		return drainTo(c, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Moves at most maxElements available elements to given collection in one
+	 * call of underlying queue, and notifies listener for one Delete multi
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}. If
+	 * collection throws, event has the elements moved before, see
+	 * {@link BlockingQueue#drainTo(Collection, int)}
+	 */
+	@Override
+	public int drainTo(Collection<? super E> c, int maxElements) {
+		if (c == null) {
+			throw new NullPointerException();
+		}
+		if (c == this) {
+			throw new IllegalArgumentException("Can't drain queue to itself");
+		}
+		if (!listeners.accepts(NotificationEventType.DELETE)) {
+			return blockingQueue().drainTo(c, maxElements);
+		}
+		List<E> drained = new ArrayList<>(Math.min(Math.max(maxElements, 0), 16));
+		// records what c accepted, element c throws for stays in queue
+		Collection<E> recording = new AbstractCollection<E>() {
+			@Override
+			public boolean add(E e) {
+				boolean added = c.add(e);
+				drained.add(e);
+				return added;
+			}
+
+			@Override
+			public Iterator<E> iterator() {
+				return drained.iterator();
+			}
+
+			@Override
+			public int size() {
+				return drained.size();
+			}
+		};
+		try {
+			return blockingQueue().drainTo(recording, maxElements);
+		} finally {
+			notifyDrained(drained, false);
+		}
+	}
+
+	/**
+	 * Takes at most maxElements available elements (without waiting) in one
+	 * call of underlying queue, and notifies listener for one Delete multi
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 *
+	 * @param maxElements
+	 *            maximum elements to take
+	 * @return taken elements in queue order, empty if none available
+	 */
+	public List<E> poll(int maxElements) {
+		return drain(maxElements, true);
+	}
+
+	/**
+	 * Drains available elements to a new list and notifies Delete multi event
+	 * 
+	 * @param returned
+	 *            true if drained list is returned to caller
+	 */
+	private List<E> drain(int maxElements, boolean returned) {
+		if (maxElements <= 0) {
+			return new ArrayList<>();
+		}
+		List<E> drained = new ArrayList<>(Math.min(maxElements, 16));
+		blockingQueue().drainTo(drained, maxElements);
+		notifyDrained(drained, returned);
+		return drained;
+	}
+
+	/**
+	 * Notifies Delete multi event of drained elements, nothing if none
+	 */
+	private void notifyDrained(List<E> drained, boolean returned) {
+		if (!drained.isEmpty() && listeners.accepts(NotificationEventType.DELETE)) {
+			Collection<E> elements = Collections.emptyList();
+			if (listeners.needsElements(NotificationEventType.DELETE)) {
+				// returned list may be changed by caller while listeners run
+				elements = returned && ex != null ? new ArrayList<>(drained) : drained;
+			}
+			NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(elements), listeners, ex);
+		}
+	}
+}
@@ -2,14 +2,28 @@ package libs.java.extension.collections.observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
+import libs.java.extension.collections.observable.notifier.NotifierAgent;
+import libs.java.extension.collections.observable.notifier.ReadMultiNotifier;
+import libs.java.extension.collections.observable.notifier.ReadSampler;
 
 /**
  * Base class with methods to ignore creating copy for event. It is not
  * implementation of{@link Collection}
  * 
- * NOTE - As of now, no event generated on stream based operation.
+ * NOTE - stream operations generate Read multi event per split, see
+ * {@link NotificationSpliterator}.
  * 
  * @author Kuldeep
  *
@@ -24,7 +38,20 @@ public abstract class NotificationCollection<E> implements Collection<E> {
 	 * blocked
 	 */
 	protected Executor ex;
-	protected List<NotificationListener<E>> listeners = new ArrayList<>();
+	/**
+	 * Registered listeners, copy on write so listeners can be added/removed
+	 * while notification is in progress from other thread, distinct for sets
+	 */
+	protected ListenerRegistry<E> listeners = new ListenerRegistry<>(this instanceof Set);
+	/**
+	 * Number of elements per Read multi event of iterators, 1 for Read event
+	 * per element
+	 */
+	protected int readChunkSize = 1;
+	/**
+	 * Sampler of Read events of single element, null to send all
+	 */
+	protected ReadSampler readSampler;
 
 	/**
 	 * Disables copy of contents before removing, event still generated but with
@@ -74,6 +101,54 @@ public abstract class NotificationCollection<E> implements Collection<E> {
 		CLEAR_METHOD_COPY_ENABLED = true;
 	}
 
+	/**
+	 * Sets chunked read mode of iterators. With chunk size greater than 1,
+	 * iterator collects returned elements and sends a Read multi event every
+	 * chunk size elements and when iteration ends (hasNext returns false),
+	 * instead of an event per element. Elements of an iteration abandoned
+	 * before end are not sent after last full chunk. Affects iterators
+	 * created after call.
+	 * 
+	 * @param readChunkSize
+	 *            elements per Read event, 1 (default) for event per element
+	 * @throws IllegalArgumentException
+	 *             if chunk size is less than 1
+	 */
+	public void setReadChunkSize(int readChunkSize) {
+		if (readChunkSize < 1) {
+			throw new IllegalArgumentException("Read chunk size must be at least 1");
+		}
+		this.readChunkSize = readChunkSize;
+	}
+
+	public int getReadChunkSize() {
+		return readChunkSize;
+	}
+
+	/**
+	 * Sets sampling of Read events of single element (get, peek, element and
+	 * iterators in per element mode), see {@link ReadSampler}. Unsampled read
+	 * doesn't create event. Read multi events (chunks, forEach, streams) are
+	 * not sampled. Affects iterators created after call.
+	 * 
+	 * @param readSampler
+	 *            sampler, null (default) to send every read
+	 */
+	public void setReadSampler(ReadSampler readSampler) {
+		this.readSampler = readSampler;
+	}
+
+	public ReadSampler getReadSampler() {
+		return readSampler;
+	}
+
+	/**
+	 * Sends Read event of element, subject to read sampler
+	 */
+	protected void notifyRead(E element) {
+		ReadTracker.notifyRead(element, listeners, ex, readSampler);
+	}
+
 	public Executor getExecutor() {
 		return ex;
 
@@ -83,10 +158,30 @@ public abstract class NotificationCollection<E> implements Collection<E> {
 		this.ex = ex;
 	}
 
+	/**
+	 * Add listener. Not allow to add same listener object twice. Thread safe,
+	 * can be called while notification is in progress
+	 * 
+	 * @param listener
+	 *            listener object
+	 */
 	public void addListener(NotificationListener<E> listener) {
-		if (listener != null && !listeners.contains(listener)) {
-			listeners.add(listener);
-		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Add listener only for given event types, listener doesn't receive other
+	 * events. Event of a type is not created at all when no listener is
+	 * interested in it (e.g. read events while iterating with write only
+	 * listeners). If listener is already added, its event types are replaced.
+	 * 
+	 * @param listener
+	 *            listener object
+	 * @param types
+	 *            event types to listen
+	 */
+	public void addListener(NotificationListener<E> listener, EnumSet<NotificationEventType> types) {
+		listeners.add(listener, types);
 	}
 
 	/**
@@ -97,10 +192,121 @@ public abstract class NotificationCollection<E> implements Collection<E> {
 	 * @return status
 	 */
 	public boolean removeListener(NotificationListener<E> listener) {
-		if (listener == null) {
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * Removes elements (retain = false) or all other elements (retain = true)
+	 * of given collection from delegate and sends Delete multi event, see
+	 * {@link #removeMatching(Collection, Predicate, boolean)}
+	 * 
+	 * @param delegate
+	 *            backing collection
+	 * @param elements
+	 *            elements to remove or retain
+	 * @param retain
+	 *            true for retainAll
+	 * @param copy
+	 *            false if copy of elements is disabled for operation
+	 * @return true if delegate changed
+	 */
+	protected boolean bulkRemove(Collection<E> delegate, Collection<?> elements, boolean retain, boolean copy) {
+		if (elements == null) {
+			throw new NullPointerException();
+		}
+		if (!listeners.accepts(NotificationEventType.DELETE)
+				|| !(copy && listeners.needsElements(NotificationEventType.DELETE))) {
+			boolean removed = retain ? delegate.retainAll(elements) : delegate.removeAll(elements);
+			notifyDeleted(removed, Collections.emptyList());
+			return removed;
+		}
+		return removeMatching(delegate, e -> elements.contains(e) != retain, copy);
+	}
+
+	/**
+	 * Removes elements matching filter from delegate using its own
+	 * {@link Collection#removeIf(Predicate)} and sends one Delete multi event.
+	 * When elements are needed by listener, they are captured in same pass
+	 * which removes them, so cost is linear and event contains exactly removed
+	 * elements, duplicates included.
+	 * 
+	 * @param delegate
+	 *            backing collection
+	 * @param filter
+	 *            elements to remove
+	 * @param copy
+	 *            false if copy of elements is disabled for operation
+	 * @return true if delegate changed
+	 */
+	protected boolean removeMatching(Collection<E> delegate, Predicate<? super E> filter, boolean copy) {
+		if (filter == null) {
+			throw new NullPointerException();
+		}
+		if (!listeners.accepts(NotificationEventType.DELETE)) {
+			return delegate.removeIf(filter);
+		}
+		if (!(copy && listeners.needsElements(NotificationEventType.DELETE))) {
+			boolean removed = delegate.removeIf(filter);
+			notifyDeleted(removed, Collections.emptyList());
+			return removed;
+		}
+		List<E> captured = new ArrayList<>();
+		boolean removed = delegate.removeIf(e -> {
+			if (filter.test(e)) {
+				captured.add(e);
+				return true;
+			}
 			return false;
+		});
+		notifyDeleted(removed, captured);
+		return removed;
+	}
+
+	private void notifyDeleted(boolean removed, Collection<E> removedElements) {
+		if (removed && listeners.accepts(NotificationEventType.DELETE)) {
+			try {
+				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
+			} catch (Exception e) {
+			}
+		}
+	}
+
+	/**
+	 * Performs action on each element using delegate's own
+	 * {@link Collection#forEach(Consumer)} and sends one Read multi event,
+	 * instead of an event per element of iterator
+	 * 
+	 * @param delegate
+	 *            backing collection
+	 * @param action
+	 *            action
+	 */
+	protected void forEachRead(Collection<E> delegate, Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			delegate.forEach(action);
+			return;
+		}
+		if (listeners.needsElements(NotificationEventType.READ)) {
+			// elements are recorded in same pass, as action reads them
+			List<E> elements = new ArrayList<>();
+			delegate.forEach(e -> {
+				elements.add(e);
+				action.accept(e);
+			});
+			if (!elements.isEmpty()) {
+				NotifierAgent.instance().notify(new ReadMultiNotifier<E>(elements), listeners, ex);
+			}
+			return;
+		}
+		delegate.forEach(action);
+		if (!delegate.isEmpty()) {
+			NotifierAgent.instance().notify(new ReadMultiNotifier<E>(Collections.<E> emptyList()), listeners, ex);
 		}
-		return listeners.remove(listener);
 	}
 
 }
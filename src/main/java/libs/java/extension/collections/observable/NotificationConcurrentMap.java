@@ -0,0 +1,224 @@
+package libs.java.extension.collections.observable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Observable {@link ConcurrentMap}. Each atomic operation (put, remove,
+ * putIfAbsent, replace, compute, computeIfAbsent, computeIfPresent, merge)
+ * notifies exactly one Add, Modify or Delete event (or none if map is not
+ * changed), with old and new value taken from the atomic operation itself, so
+ * events are exact while many threads update same keys. Events are sent
+ * after the atomic operation, events of concurrent updates of same key may
+ * reach listeners in different order than updates. Usage <br>
+ * ConcurrentMap<String, String> a = new NotificationConcurrentMap<>(new
+ * ConcurrentHashMap<>()); a.putIfAbsent("ABC", "DEF");
+ * 
+ * @author Kuldeep
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class NotificationConcurrentMap<K, V> extends NotificationMap<K, V> implements ConcurrentMap<K, V> {
+
+	/**
+	 * Constructor with underlying map, no executor, so all notification will be
+	 * part of map operation thread
+	 * 
+	 * @param map
+	 *            underlying map
+	 */
+	public NotificationConcurrentMap(ConcurrentMap<K, V> map) {
+		this(map, null);
+	}
+
+	/**
+	 * Constructor with map and executor, all notification to listeners will be
+	 * sent using this executor
+	 * 
+	 * @param map
+	 *            underlying map
+	 * @param ex
+	 *            executor
+	 */
+	public NotificationConcurrentMap(ConcurrentMap<K, V> map, Executor ex) {
+		this(map, ex, null);
+	}
+
+	/**
+	 * Constructor with map, executor and listener
+	 * 
+	 * @param map
+	 *            underlying map
+	 * @param ex
+	 *            executor
+	 * @param listener
+	 *            listener for event
+	 * @throws IllegalArgumentException
+	 *             if map is null
+	 */
+	public NotificationConcurrentMap(ConcurrentMap<K, V> map, Executor ex,
+			NotificationListener<KeyValue<K, V>> listener) {
+		super(map, ex, listener);
+	}
+
+	private ConcurrentMap<K, V> concurrentMap() {
+		return (ConcurrentMap<K, V>) getMap();
+	}
+
+	/**
+	 * Not supported, clear would replace underlying map while other threads
+	 * update it, updates made on replaced map would be lost though notified
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setClearSupplier(Supplier<? extends Map<K, V>> clearSupplier) {
+		throw new UnsupportedOperationException("Clear supplier not supported by concurrent map");
+	}
+
+	/**
+	 * Puts value if key is absent, notifies Add event if added
+	 */
+	@Override
+	public V putIfAbsent(K key, V value) {
+		V old = concurrentMap().putIfAbsent(key, value);
+		if (old == null) {
+			notifyChange(key, null, value);
+		}
+		return old;
+	}
+
+	/**
+	 * Removes key if mapped to value, notifies Delete event if removed
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object key, Object value) {
+		boolean removed = concurrentMap().remove(key, value);
+		if (removed) {
+			notifyChange((K) key, true, (V) value, false, null);
+		}
+		return removed;
+	}
+
+	/**
+	 * Replaces value if key is mapped to old value, notifies Modify event if
+	 * replaced
+	 */
+	@Override
+	public boolean replace(K key, V oldValue, V newValue) {
+		boolean replaced = concurrentMap().replace(key, oldValue, newValue);
+		if (replaced) {
+			notifyChange(key, true, oldValue, true, newValue);
+		}
+		return replaced;
+	}
+
+	/**
+	 * Replaces value if key is present, notifies Modify event if replaced
+	 */
+	@Override
+	public V replace(K key, V value) {
+		V old = concurrentMap().replace(key, value);
+		if (old != null) {
+			notifyChange(key, old, value);
+		}
+		return old;
+	}
+
+	/**
+	 * Computes value if key is absent, notifies Add event if value is added.
+	 * Present key is read without lock, absent key is computed atomically by
+	 * underlying map's compute, which tells if value is added by this call.
+	 */
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if (mappingFunction == null) {
+			throw new NullPointerException();
+		}
+		V existing = concurrentMap().get(key);
+		if (existing != null) {
+			return existing;
+		}
+		Object[] old = new Object[1];
+		V value = concurrentMap().compute(key, (k, v) -> {
+			old[0] = v;
+			return v != null ? v : mappingFunction.apply(k);
+		});
+		if (old[0] == null) {
+			notifyChange(key, null, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Computes value if key is present, atomically by underlying map's compute,
+	 * notifies Modify or Delete event
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		if (remappingFunction == null) {
+			throw new NullPointerException();
+		}
+		if (concurrentMap().get(key) == null) {
+			return null;
+		}
+		Object[] old = new Object[1];
+		V value = concurrentMap().compute(key, (k, v) -> {
+			old[0] = v;
+			return v == null ? null : remappingFunction.apply(k, v);
+		});
+		notifyChange(key, (V) old[0], value);
+		return value;
+	}
+
+	/**
+	 * Merges value atomically by underlying map's compute, notifies Add,
+	 * Modify or Delete event. Old value is taken from the invocation of
+	 * remapping which is applied, so it stays exact if underlying map retries.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if (value == null || remappingFunction == null) {
+			throw new NullPointerException();
+		}
+		Object[] old = new Object[1];
+		V merged = concurrentMap().compute(key, (k, v) -> {
+			old[0] = v;
+			return v == null ? value : remappingFunction.apply(v, value);
+		});
+		notifyChange(key, (V) old[0], merged);
+		return merged;
+	}
+
+	/**
+	 * Replaces each value with compare and set ({@link ConcurrentMap#replace(Object, Object, Object)}),
+	 * retried with current value if it changed, so event contains replacements
+	 * actually made
+	 */
+	@Override
+	void replaceValues(BiFunction<? super K, ? super V, ? extends V> function, Replacement<K, V> replacement) {
+		ConcurrentMap<K, V> map = concurrentMap();
+		for (Map.Entry<K, V> entry : map.entrySet()) {
+			K key = entry.getKey();
+			V value = entry.getValue();
+			while (value != null) {
+				V replaced = function.apply(key, value);
+				if (map.replace(key, value, replaced)) {
+					replacement.replaced(key, value, replaced);
+					break;
+				}
+				value = map.get(key);
+			}
+		}
+	}
+
+}
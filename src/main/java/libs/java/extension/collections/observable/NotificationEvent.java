@@ -29,8 +29,20 @@ public class NotificationEvent<E> {
 	 * Available in modify event. old value of element
 	 */
 	private E oldElement;
+	/**
+	 * Available in modify multi event, old values in same order as elements
+	 */
+	private Collection<? extends E> oldElements;
 	// private Collection<E> underlyingCollection;
 
+	/**
+	 * Number of events this event represents, greater than 1 for sampled read
+	 * events (see {@link libs.java.extension.collections.observable.notifier.ReadSampler})
+	 * and events merged by
+	 * {@link libs.java.extension.collections.observable.notifier.CoalescingDispatcher}
+	 */
+	private double weight = 1;
+
 	/**
 	 * if event change multiple elements
 	 */
@@ -62,6 +74,14 @@ public class NotificationEvent<E> {
 		return oldElement;
 	}
 
+	public double getWeight() {
+		return weight;
+	}
+
+	public Collection<? extends E> getOldElements() {
+		return oldElements;
+	}
+
 	/*
 	 * public Collection<E> getUnderlyingCollection() { return
 	 * underlyingCollection; }
@@ -83,6 +103,7 @@ public class NotificationEvent<E> {
 
 	public NotificationEvent(/*Collection<E> underlyingCollection,*/ E element, E oldElement, NotificationEventType type) {
 		this.element = element;
+		this.oldElement = oldElement;
 		this.type = type;
 //		this.underlyingCollection = underlyingCollection;
 	}
@@ -90,10 +111,39 @@ public class NotificationEvent<E> {
 	public NotificationEvent(/*Collection<E> underlyingCollection,*/ Collection<? extends E> elements, E oldElement,
 			NotificationEventType type) {
 		this.elements = elements;
+		this.oldElement = oldElement;
 		this.type = type;
+		this.multi = true;
 //		this.underlyingCollection = underlyingCollection;
 	}
 
+	public NotificationEvent(E element, NotificationEventType type, double weight) {
+		this.element = element;
+		this.type = type;
+		this.weight = weight;
+	}
+
+	public NotificationEvent(Collection<? extends E> elements, NotificationEventType type, double weight) {
+		this.elements = elements;
+		this.type = type;
+		this.weight = weight;
+		this.multi = true;
+	}
+
+	public NotificationEvent(Collection<? extends E> elements, Collection<? extends E> oldElements,
+			NotificationEventType type) {
+		this.elements = elements;
+		this.oldElements = oldElements;
+		this.type = type;
+		this.multi = true;
+	}
+
+	public NotificationEvent(Collection<? extends E> elements, Collection<? extends E> oldElements,
+			NotificationEventType type, double weight) {
+		this(elements, oldElements, type);
+		this.weight = weight;
+	}
+
 	public E getElement() {
 		return element;
 	}
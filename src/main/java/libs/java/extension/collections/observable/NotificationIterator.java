@@ -1,14 +1,24 @@
 package libs.java.extension.collections.observable;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.DeleteNotifier;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
 import libs.java.extension.collections.observable.notifier.NotifierAgent;
-import libs.java.extension.collections.observable.notifier.ReadNotifier;
+import libs.java.extension.collections.observable.notifier.ReadSampler;
 
 /**
- * A wrapped iterator, overrides iterator methods and generates event
+ * A wrapped iterator, overrides iterator methods and generates event. Read
+ * events are sent per element, or in chunks of given size (sent every chunk
+ * size elements and when iteration ends, see
+ * {@link NotificationCollection#setReadChunkSize(int)}).
+ * {@link #forEachRemaining(Consumer)} sends single Read multi event.
  * 
  * @author Kuldeep
  *
@@ -16,25 +26,101 @@ import libs.java.extension.collections.observable.notifier.ReadNotifier;
 public class NotificationIterator<E> implements Iterator<E> {
 	private Iterator<E> root;
 	// private Collection<E> underlyingCollection;
-	private List<NotificationListener<E>> listeners;
+	private ListenerRegistry<E> listeners;
 	private Executor ex;
+	private E lastReturned;
+	private ReadTracker<E> reads;
 
-	public NotificationIterator(Iterator<E> root, List<NotificationListener<E>> listeners, Executor ex) {
+	public NotificationIterator(Iterator<E> root, ListenerRegistry<E> listeners, Executor ex) {
+		this(root, listeners, ex, 1);
+	}
+
+	/**
+	 * @param readChunkSize
+	 *            number of elements per Read multi event, 1 for Read event
+	 *            per element
+	 */
+	public NotificationIterator(Iterator<E> root, ListenerRegistry<E> listeners, Executor ex, int readChunkSize) {
+		this(root, listeners, ex, readChunkSize, null);
+	}
+
+	/**
+	 * @param readChunkSize
+	 *            number of elements per Read multi event, 1 for Read event
+	 *            per element
+	 * @param readSampler
+	 *            sampler of Read events of single element, null for all
+	 */
+	public NotificationIterator(Iterator<E> root, ListenerRegistry<E> listeners, Executor ex, int readChunkSize,
+			ReadSampler readSampler) {
 		// this.underlyingCollection = collection;
 		this.listeners = listeners;
 		this.ex = ex;
 		this.root = root;
+		this.reads = new ReadTracker<>(listeners, ex, readChunkSize, readSampler);
 	}
 
+	/**
+	 * Sends pending read chunk when iteration ends
+	 */
 	public boolean hasNext() {
-
-		return root.hasNext();
+		boolean hasNext = root.hasNext();
+		if (!hasNext) {
+			reads.flush();
+		}
+		return hasNext;
 	}
 
 	public E next() {
 		E element = root.next();
-		NotifierAgent.instance().notify(new ReadNotifier<E>(element), listeners, ex);
+		lastReturned = element;
+		reads.read(element);
 		return element;
 	}
 
+	/**
+	 * Iterates remaining elements with underlying iterator's
+	 * forEachRemaining, sends single Read multi event
+	 */
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			root.forEachRemaining(e -> {
+				lastReturned = e;
+				action.accept(e);
+			});
+			reads.flush();
+			return;
+		}
+		boolean capture = listeners.needsElements(NotificationEventType.READ);
+		List<E> elements = capture ? new ArrayList<>() : Collections.<E>emptyList();
+		int[] count = new int[1];
+		root.forEachRemaining(e -> {
+			lastReturned = e;
+			count[0]++;
+			if (capture) {
+				elements.add(e);
+			}
+			action.accept(e);
+		});
+		reads.readAll(elements, count[0]);
+	}
+
+	/**
+	 * Removes last returned element from underlying collection, generates
+	 * Delete event. Throws UnsupportedOperationException if underlying iterator
+	 * doesn't support remove
+	 */
+	@Override
+	public void remove() {
+		root.remove();
+		if (listeners.accepts(NotificationEventType.DELETE)) {
+			reads.flush();
+			NotifierAgent.instance().notify(new DeleteNotifier<E>(lastReturned), listeners, ex);
+		}
+	}
+
 }
@@ -2,23 +2,29 @@ package libs.java.extension.collections.observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Spliterator;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 import libs.java.extension.collections.observable.notifier.AddMultiNotifier;
 import libs.java.extension.collections.observable.notifier.AddNotifier;
 import libs.java.extension.collections.observable.notifier.ClearNotifier;
-import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
 import libs.java.extension.collections.observable.notifier.DeleteNotifier;
+import libs.java.extension.collections.observable.notifier.ModifyMultiNotifier;
 import libs.java.extension.collections.observable.notifier.ModifyNotifier;
 import libs.java.extension.collections.observable.notifier.NotifierAgent;
 import libs.java.extension.collections.observable.notifier.ReadMultiNotifier;
-import libs.java.extension.collections.observable.notifier.ReadNotifier;
 
 /**
  * A decorated List which allows notification on different list operation.
@@ -32,7 +38,8 @@ import libs.java.extension.collections.observable.notifier.ReadNotifier;
  *           }); a.add ("ABC");
  * 
  * 
- * NOTE - As of now, no event generated on stream based operation.
+ * NOTE - stream operations generate Read multi event per split, see
+ * {@link NotificationSpliterator}.
  *
  * 
  * @author Kuldeep
@@ -46,6 +53,11 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	private List<E> list;
 
+	/**
+	 * If set, clear installs a new list from it instead of clearing
+	 */
+	private Supplier<? extends List<E>> clearSupplier;
+
 	/**
 	 * Constructor with underlying list, no executor, so all notification will
 	 * be part of list operation thread
@@ -106,6 +118,20 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 		return list;
 	}
 
+	/**
+	 * Sets supplier of empty list used by {@link #clear()}. With supplier,
+	 * clear replaces underlying list with a new one and old list (untouched) is
+	 * passed to listeners as CLEAR elements, so clear costs same for any size
+	 * and no copy is made. Note - list returned by {@link #getList()} before
+	 * clear is detached after clear.
+	 * 
+	 * @param clearSupplier
+	 *            supplier of empty list, null to clear in place (default)
+	 */
+	public void setClearSupplier(Supplier<? extends List<E>> clearSupplier) {
+		this.clearSupplier = clearSupplier;
+	}
+
 	/**
 	 * Add element to the list, and notifies listener for Add event.
 	 * NotifictionEventType = {@link NotificationEventType#ADD}
@@ -118,7 +144,7 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public boolean add(E e) {
 		boolean added = list.add(e);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
 		}
 		return added;
@@ -139,7 +165,9 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 
 	public void add(int index, E e) {
 		list.add(index, e);
-		NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
+		if (listeners.accepts(NotificationEventType.ADD)) {
+			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
+		}
 
 	}
 
@@ -156,7 +184,7 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 
 	public boolean addAll(Collection<? extends E> elements) {
 		boolean added = list.addAll(elements);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddMultiNotifier<E>(elements), listeners, ex);
 		}
 		return added;
@@ -177,7 +205,7 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public boolean addAll(int index, Collection<? extends E> elements) {
 		boolean added = list.addAll(index, elements);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddMultiNotifier<E>(elements), listeners, ex);
 		}
 		return added;
@@ -188,15 +216,30 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 * {@link NotificationEventType#CLEAR} See {@link List#clear()}
 	 * 
 	 * Note - It iterates over collection to capture elements, so extra
-	 * instruction, careful in performance apps
+	 * instruction, careful in performance apps. See
+	 * {@link #setClearSupplier(Supplier)} to avoid it.
 	 */
 	public void clear() {
-		List<E> elements = new ArrayList<>();
-		if (CLEAR_METHOD_COPY_ENABLED) {
-			elements = list.stream().collect(Collectors.toList());
+		if (clearSupplier != null) {
+			List<E> old = list;
+			List<E> fresh = clearSupplier.get();
+			if (fresh == null) {
+				throw new IllegalStateException("Clear supplier returned null");
+			}
+			list = fresh;
+			if (listeners.accepts(NotificationEventType.CLEAR)) {
+				NotifierAgent.instance().notify(new ClearNotifier<E>(old), listeners, ex);
+			}
+			return;
+		}
+		List<E> elements = Collections.emptyList();
+		if (CLEAR_METHOD_COPY_ENABLED && listeners.needsElements(NotificationEventType.CLEAR)) {
+			elements = new ArrayList<>(list);
 		}
 		list.clear();
-		NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		if (listeners.accepts(NotificationEventType.CLEAR)) {
+			NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		}
 		return;
 	}
 
@@ -226,8 +269,9 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public E get(int index) {
 		E element = list.get(index);
-
-		NotifierAgent.instance().notify(new ReadNotifier<E>(element), listeners, ex);
+		if (listeners.accepts(NotificationEventType.READ)) {
+			notifyRead(element);
+		}
 		return element;
 	}
 
@@ -256,11 +300,28 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 * 
 	 */
 	public Iterator<E> iterator() {
-		return new NotificationIterator<E>(list.iterator(), listeners, ex);
+		return new NotificationIterator<E>(list.iterator(), listeners, ex, readChunkSize, readSampler);
 	}
 
 	/**
-	 * Wrapped list iterator, overrides methods and generates events
+	 * Returns {@link NotificationSpliterator}, so stream and parallel stream
+	 * generate Read multi event per split NotifictionEventType =
+	 * {@link NotificationEventType#READ}. Underlying spliterator is returned
+	 * when no listener wants read events.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			return list.spliterator();
+		}
+		return new NotificationSpliterator<>(list.spliterator(), listeners, ex);
+	}
+
+	/**
+	 * Wrapped list iterator, overrides methods and generates events. Read
+	 * events follow chunk size of list (see {@link #setReadChunkSize(int)}),
+	 * pending chunk is sent when iteration ends in either direction and
+	 * before add/remove/set events.
 	 * 
 	 * @author Kuldeep
 	 *
@@ -268,6 +329,7 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	class NotificationListIterator implements ListIterator<E> {
 		ListIterator<E> root;
 		E lastReturned;
+		ReadTracker<E> reads = new ReadTracker<>(listeners, ex, readChunkSize, readSampler);
 
 		public NotificationListIterator(ListIterator<E> root) {
 			this.root = root;
@@ -279,17 +341,28 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 		@Override
 		public void add(E element) {
 			root.add(element);
-			NotifierAgent.instance().notify(new AddNotifier<E>(element), listeners, ex);
+			if (listeners.accepts(NotificationEventType.ADD)) {
+				reads.flush();
+				NotifierAgent.instance().notify(new AddNotifier<E>(element), listeners, ex);
+			}
 		}
 
 		@Override
 		public boolean hasNext() {
-			return root.hasNext();
+			boolean hasNext = root.hasNext();
+			if (!hasNext) {
+				reads.flush();
+			}
+			return hasNext;
 		}
 
 		@Override
 		public boolean hasPrevious() {
-			return root.hasPrevious();
+			boolean hasPrevious = root.hasPrevious();
+			if (!hasPrevious) {
+				reads.flush();
+			}
+			return hasPrevious;
 		}
 
 		/**
@@ -299,10 +372,34 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 		public E next() {
 			E element = root.next();
 			lastReturned = element;
-			NotifierAgent.instance().notify(new ReadNotifier<E>(element), listeners, ex);
+			reads.read(element);
 			return element;
 		}
 
+		/**
+		 * Iterates remaining elements with underlying iterator's
+		 * forEachRemaining, generates single Read multi event
+		 */
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			if (action == null) {
+				throw new NullPointerException();
+			}
+			boolean notify = listeners.accepts(NotificationEventType.READ);
+			boolean capture = notify && listeners.needsElements(NotificationEventType.READ);
+			List<E> elements = capture ? new ArrayList<>() : Collections.<E>emptyList();
+			int[] count = new int[1];
+			root.forEachRemaining(e -> {
+				lastReturned = e;
+				count[0]++;
+				if (capture) {
+					elements.add(e);
+				}
+				action.accept(e);
+			});
+			reads.readAll(elements, count[0]);
+		}
+
 		@Override
 		public int nextIndex() {
 			return root.nextIndex();
@@ -315,7 +412,7 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 		public E previous() {
 			E element = root.previous();
 			lastReturned = element;
-			NotifierAgent.instance().notify(new ReadNotifier<E>(element), listeners, ex);
+			reads.read(element);
 			return element;
 		}
 
@@ -330,7 +427,10 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 		@Override
 		public void remove() {
 			root.remove();
-			NotifierAgent.instance().notify(new DeleteNotifier<E>(lastReturned), listeners, ex);
+			if (listeners.accepts(NotificationEventType.DELETE)) {
+				reads.flush();
+				NotifierAgent.instance().notify(new DeleteNotifier<E>(lastReturned), listeners, ex);
+			}
 		}
 
 		/**
@@ -341,7 +441,10 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 
 			root.set(element);
 			// to-do, fix
-			NotifierAgent.instance().notify(new ModifyNotifier<E>(lastReturned, element), listeners, ex);
+			if (listeners.accepts(NotificationEventType.MODIFY)) {
+				reads.flush();
+				NotifierAgent.instance().notify(new ModifyNotifier<E>(lastReturned, element), listeners, ex);
+			}
 		}
 
 	}
@@ -382,9 +485,11 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public boolean remove(Object element) {
 		boolean removed = list.remove(element);
-		if (removed) {
+		if (removed && listeners.accepts(NotificationEventType.DELETE)) {
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<E>((E) element), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 			}
 		}
@@ -403,9 +508,11 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public E remove(int index) {
 		E element = list.remove(index);
-		if (element != null) {
+		if (element != null && listeners.accepts(NotificationEventType.DELETE)) {
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<E>(element), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 			}
 		}
@@ -424,24 +531,7 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 * 
 	 */
 	public boolean removeAll(Collection<?> elements) {
-
-		Collection<E> removedElements = new ArrayList<>();
-		if (REMOVEALL_METHOD_COPY_ENABLED) {
-			for (E e : list) {
-				if (elements.contains(e)) {
-					removedElements.add(e);
-				}
-			}
-		}
-		boolean removed = list.removeAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
-
-		return removed;
+		return bulkRemove(list, elements, false, REMOVEALL_METHOD_COPY_ENABLED);
 	}
 
 	/**
@@ -457,29 +547,113 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 * 
 	 */
 	public boolean retainAll(Collection<?> elements) {
-		Collection<E> removedElements = new ArrayList<>();
-		if (RETAIN_METHOD_COPY_ENABLED) {
-			Collection<E> containedElements = new ArrayList<>();
-			for (E e : list) {
-				if (elements.contains(e)) {
-					containedElements.add(e);
+		return bulkRemove(list, elements, true, RETAIN_METHOD_COPY_ENABLED);
+	}
+
+	/**
+	 * Removes elements matching filter, and notifies listener for Delete multi
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 * {@link List#removeIf(Predicate)}. Uses underlying list's removeIf, one
+	 * event per call
+	 * 
+	 * @param filter
+	 *            elements to remove
+	 * @return status
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		return removeMatching(list, filter, true);
+	}
+
+	/**
+	 * Performs action on each element, and notifies listener for Read multi
+	 * event NotifictionEventType = {@link NotificationEventType#READ}
+	 * {@link List#forEach(Consumer)}. One event per call, not per element
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		forEachRead(list, action);
+	}
+
+	/**
+	 * Replaces each element with result of operator, and notifies listener for
+	 * Modify multi event NotifictionEventType =
+	 * {@link NotificationEventType#MODIFY} {@link List#replaceAll(UnaryOperator)}.
+	 * Uses underlying list's replaceAll, event contains changed elements only
+	 * (new values as elements, replaced values as old elements), one event per
+	 * call
+	 * 
+	 * @param operator
+	 *            operator to apply
+	 */
+	@Override
+	public void replaceAll(UnaryOperator<E> operator) {
+		if (operator == null) {
+			throw new NullPointerException();
+		}
+		if (!listeners.accepts(NotificationEventType.MODIFY)) {
+			list.replaceAll(operator);
+			return;
+		}
+		boolean capture = listeners.needsElements(NotificationEventType.MODIFY);
+		List<E> elements = capture ? new ArrayList<>() : Collections.emptyList();
+		List<E> oldElements = capture ? new ArrayList<>() : Collections.emptyList();
+		boolean[] changed = new boolean[1];
+		list.replaceAll(e -> {
+			E replaced = operator.apply(e);
+			if (!Objects.equals(e, replaced)) {
+				changed[0] = true;
+				if (capture) {
+					elements.add(replaced);
+					oldElements.add(e);
 				}
 			}
-			for (E e : list) {
-				if (!containedElements.contains(e)) {
-					removedElements.add(e);
+			return replaced;
+		});
+		if (changed[0]) {
+			NotifierAgent.instance().notify(new ModifyMultiNotifier<E>(elements, oldElements), listeners, ex);
+		}
+	}
+
+	/**
+	 * Sorts list, and notifies listener for Modify multi event
+	 * NotifictionEventType = {@link NotificationEventType#MODIFY}
+	 * {@link List#sort(Comparator)}. Uses underlying list's sort, event
+	 * contains elements of positions changed by sort (not equal to element
+	 * before sort), with elements before sort. No event if order is unchanged.
+	 * 
+	 * Note - elements are copied to find changes, careful in performance apps
+	 * 
+	 * @param comparator
+	 *            comparator, null for natural order
+	 */
+	@Override
+	public void sort(Comparator<? super E> comparator) {
+		if (list.size() < 2 || !listeners.accepts(NotificationEventType.MODIFY)) {
+			list.sort(comparator);
+			return;
+		}
+		List<E> before = new ArrayList<>(list);
+		list.sort(comparator);
+		boolean capture = listeners.needsElements(NotificationEventType.MODIFY);
+		List<E> elements = capture ? new ArrayList<>() : Collections.emptyList();
+		List<E> oldElements = capture ? new ArrayList<>() : Collections.emptyList();
+		boolean changed = false;
+		int index = 0;
+		for (E element : list) {
+			E old = before.get(index++);
+			if (!Objects.equals(old, element)) {
+				changed = true;
+				if (!capture) {
+					break;
 				}
+				elements.add(element);
+				oldElements.add(old);
 			}
 		}
-		boolean removed = list.retainAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
+		if (changed) {
+			NotifierAgent.instance().notify(new ModifyMultiNotifier<E>(elements, oldElements), listeners, ex);
 		}
-
-		return removed;
 	}
 
 	/**
@@ -496,7 +670,9 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public E set(int index, E element) {
 		E old = list.set(index, element);
-		NotifierAgent.instance().notify(new ModifyNotifier<E>(old, element), listeners, ex);
+		if (listeners.accepts(NotificationEventType.MODIFY)) {
+			NotifierAgent.instance().notify(new ModifyNotifier<E>(old, element), listeners, ex);
+		}
 		return old;
 	}
 
@@ -522,7 +698,9 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 	 */
 	public List<E> subList(int fromIndex, int toIndex) {
 		List<E> sub = list.subList(fromIndex, toIndex);
-		NotifierAgent.instance().notify(new ReadMultiNotifier<E>(sub), listeners, ex);
+		if (listeners.accepts(NotificationEventType.READ)) {
+			NotifierAgent.instance().notify(new ReadMultiNotifier<E>(sub), listeners, ex);
+		}
 		return sub;
 	}
 
@@ -540,12 +718,4 @@ public class NotificationList<E> extends NotificationCollection<E> implements Li
 		return list.toArray(a);
 	}
 
-	/**
-	 * As of now, no event generated on stream based operation.
-	 */
-	@Override
-	public Stream<E> parallelStream() {
-		return list.parallelStream();
-	}
-
 }
@@ -13,6 +13,22 @@ public interface NotificationListener<E> {
 
 	public void onEvent(NotificationEvent<E> event);
 
+	/**
+	 * Tells if listener reads elements of multi events. Collection collects or
+	 * copies elements of a multi event only when at least one listener of the
+	 * event type needs them, otherwise event comes with empty elements (and
+	 * empty old elements). Applies to Delete multi events (clear, removeAll,
+	 * retainAll, removeIf, drainTo), Read multi events (forEach, chunked
+	 * iteration, bulk streams), Add multi events of map putAll and Modify
+	 * multi events (replaceAll, list sort). Events of single element always
+	 * carry the element.
+	 * 
+	 * @return true by default
+	 */
+	public default boolean needsElements() {
+		return true;
+	}
+
 	public enum NotificationEventType {
 		READ, DELETE, CLEAR, ADD, MODIFY;
 	}
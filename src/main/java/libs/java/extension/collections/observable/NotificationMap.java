@@ -1,21 +1,39 @@
 package libs.java.extension.collections.observable;
 
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 import libs.java.extension.collections.observable.notifier.AddMultiNotifier;
 import libs.java.extension.collections.observable.notifier.AddNotifier;
 import libs.java.extension.collections.observable.notifier.ClearNotifier;
+import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
 import libs.java.extension.collections.observable.notifier.DeleteNotifier;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+import libs.java.extension.collections.observable.notifier.ModifyMultiNotifier;
 import libs.java.extension.collections.observable.notifier.ModifyNotifier;
 import libs.java.extension.collections.observable.notifier.NotifierAgent;
+import libs.java.extension.collections.observable.notifier.ReadMultiNotifier;
+import libs.java.extension.collections.observable.notifier.ReadNotifier;
 
 /**
  * Observable map. Usage <br>
@@ -28,8 +46,11 @@ import libs.java.extension.collections.observable.notifier.NotifierAgent;
  *           }); 
  *           a.put ("ABC", "DEF");
  *           </br>
-  * NOTE - As of now, no event generated on stream based operation.
-            
+ * For changes without {@link KeyValue} objects, see
+ * {@link #addChangeListener(MapChangeListener)}.
+ * NOTE - Read events are generated by get and getAll only. Iteration and
+ * streams of map views (keySet, values, entrySet) generate no Read event.
+ * 
  * @author Kuldeep
  *
  * @param <K>
@@ -45,7 +66,26 @@ public class NotificationMap<K, V> implements Map<K, V> {
 	 * blocked
 	 */
 	protected Executor ex;
-	protected List<NotificationListener<KeyValue<K, V>>> listeners = new ArrayList<>();
+	/**
+	 * Registered listeners, copy on write so listeners can be added/removed
+	 * while notification is in progress from other thread
+	 */
+	protected ListenerRegistry<KeyValue<K, V>> listeners = new ListenerRegistry<>(true);
+	/**
+	 * Listeners of single keys, indexed by key. Mutation of a key notifies
+	 * {@link #listeners} and listeners of that key only
+	 */
+	protected ConcurrentMap<Object, ListenerRegistry<KeyValue<K, V>>> keyListeners = new ConcurrentHashMap<>();
+	/**
+	 * Listeners receiving {@link MapChangeEvent}
+	 */
+	private final MapChangeRegistry<K, V> changeListeners;
+	/**
+	 * Views, created on first use
+	 */
+	private Set<K> keySetView;
+	private Collection<V> valuesView;
+	private Set<Map.Entry<K, V>> entrySetView;
 
 	/**
 	 * Disables copy of contents before removing, event still generated but with
@@ -104,10 +144,30 @@ public class NotificationMap<K, V> implements Map<K, V> {
 		this.ex = ex;
 	}
 
+	/**
+	 * Add listener. Not allow to add same listener object twice. Thread safe,
+	 * can be called while notification is in progress
+	 * 
+	 * @param listener
+	 *            listener object
+	 */
 	public void addListener(NotificationListener<KeyValue<K, V>> listener) {
-		if (listener != null && !listeners.contains(listener)) {
-			listeners.add(listener);
-		}
+		listeners.add(listener);
+	}
+
+	/**
+	 * Add listener only for given event types, listener doesn't receive other
+	 * events. Event of a type is not created at all when no listener is
+	 * interested in it (e.g. read events while iterating with write only
+	 * listeners). If listener is already added, its event types are replaced.
+	 * 
+	 * @param listener
+	 *            listener object
+	 * @param types
+	 *            event types to listen
+	 */
+	public void addListener(NotificationListener<KeyValue<K, V>> listener, EnumSet<NotificationEventType> types) {
+		listeners.add(listener, types);
 	}
 
 	/**
@@ -118,10 +178,203 @@ public class NotificationMap<K, V> implements Map<K, V> {
 	 * @return status
 	 */
 	public boolean removeListener(NotificationListener<KeyValue<K, V>> listener) {
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * Add change listener, receives key, old and new value of each change
+	 * without {@link KeyValue} objects. Without executor, event object is
+	 * reused, so put/remove/get create no object for change listeners.
+	 * 
+	 * @param listener
+	 *            listener object
+	 */
+	public void addChangeListener(MapChangeListener<K, V> listener) {
+		changeListeners.add(listener, EnumSet.allOf(NotificationEventType.class));
+	}
+
+	/**
+	 * Add change listener only for given event types, see
+	 * {@link #addChangeListener(MapChangeListener)}. If listener is already
+	 * added, its event types are replaced.
+	 * 
+	 * @param listener
+	 *            listener object
+	 * @param types
+	 *            event types to listen
+	 */
+	public void addChangeListener(MapChangeListener<K, V> listener, EnumSet<NotificationEventType> types) {
+		changeListeners.add(listener, types);
+	}
+
+	/**
+	 * Removes change listener
+	 * 
+	 * @param listener
+	 *            listener object
+	 * @return status
+	 */
+	public boolean removeChangeListener(MapChangeListener<K, V> listener) {
+		return changeListeners.remove(listener);
+	}
+
+	/**
+	 * Add listener for a single key, listener receives events of this key
+	 * only (and clear). Cost of a mutation depends on listeners of changed key,
+	 * not on total listeners. A listener added for map and for key receives
+	 * event twice.
+	 * 
+	 * @param key
+	 *            key to listen
+	 * @param listener
+	 *            listener object
+	 * @throws IllegalArgumentException
+	 *             if key is null
+	 */
+	public void addListener(K key, NotificationListener<KeyValue<K, V>> listener) {
+		addListener(key, listener, EnumSet.allOf(NotificationEventType.class));
+	}
+
+	/**
+	 * Add listener for a single key and given event types, see
+	 * {@link #addListener(Object, NotificationListener)}
+	 * 
+	 * @param key
+	 *            key to listen
+	 * @param listener
+	 *            listener object
+	 * @param types
+	 *            event types to listen
+	 * @throws IllegalArgumentException
+	 *             if key is null
+	 */
+	public void addListener(K key, NotificationListener<KeyValue<K, V>> listener,
+			EnumSet<NotificationEventType> types) {
+		if (key == null) {
+			throw new IllegalArgumentException("Key can't be null");
+		}
 		if (listener == null) {
+			return;
+		}
+		keyListeners.compute(key, (k, registry) -> {
+			if (registry == null) {
+				registry = new ListenerRegistry<>(true);
+			}
+			registry.add(listener, types);
+			return registry;
+		});
+	}
+
+	/**
+	 * Add listener for each of given keys, see
+	 * {@link #addListener(Object, NotificationListener)}
+	 * 
+	 * @param keys
+	 *            keys to listen
+	 * @param listener
+	 *            listener object
+	 */
+	public void addListener(Collection<? extends K> keys, NotificationListener<KeyValue<K, V>> listener) {
+		for (K key : keys) {
+			addListener(key, listener);
+		}
+	}
+
+	/**
+	 * Removes listener of a key
+	 * 
+	 * @param key
+	 *            key
+	 * @param listener
+	 *            listener object
+	 * @return status
+	 */
+	public boolean removeListener(K key, NotificationListener<KeyValue<K, V>> listener) {
+		if (key == null || listener == null) {
 			return false;
 		}
-		return listeners.remove(listener);
+		boolean[] removed = new boolean[1];
+		keyListeners.computeIfPresent(key, (k, registry) -> {
+			removed[0] = registry.remove(listener);
+			return registry.isEmpty() ? null : registry;
+		});
+		return removed[0];
+	}
+
+	/**
+	 * Removes listener of given keys
+	 * 
+	 * @param keys
+	 *            keys
+	 * @param listener
+	 *            listener object
+	 * @return true if removed from any key
+	 */
+	public boolean removeListener(Collection<? extends K> keys, NotificationListener<KeyValue<K, V>> listener) {
+		boolean removed = false;
+		for (K key : keys) {
+			removed |= removeListener(key, listener);
+		}
+		return removed;
+	}
+
+	/**
+	 * @return listeners of key, null if none
+	 */
+	ListenerRegistry<KeyValue<K, V>> keyListeners(Object key) {
+		if (key == null || keyListeners.isEmpty()) {
+			return null;
+		}
+		return keyListeners.get(key);
+	}
+
+	/**
+	 * @return true if any listener is registered for part of keys
+	 */
+	boolean hasKeyListeners() {
+		return !keyListeners.isEmpty();
+	}
+
+	/**
+	 * @return registries of listeners registered for part of keys
+	 */
+	Collection<ListenerRegistry<KeyValue<K, V>>> keyRegistries() {
+		return keyListeners.values();
+	}
+
+	private boolean accepts(NotificationEventType type, ListenerRegistry<KeyValue<K, V>> keyed) {
+		return listeners.accepts(type) || (keyed != null && keyed.accepts(type));
+	}
+
+	/**
+	 * @return true if map listeners or any key listener wants event type
+	 */
+	private boolean acceptsAny(NotificationEventType type) {
+		if (listeners.accepts(type)) {
+			return true;
+		}
+		for (ListenerRegistry<KeyValue<K, V>> keyed : keyRegistries()) {
+			if (keyed.accepts(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if map listeners or any key listener needs elements of event
+	 *         type
+	 */
+	private boolean needsElementsAny(NotificationEventType type) {
+		if (listeners.needsElements(type)) {
+			return true;
+		}
+		for (ListenerRegistry<KeyValue<K, V>> keyed : keyRegistries()) {
+			if (keyed.needsElements(type)) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -129,6 +382,11 @@ public class NotificationMap<K, V> implements Map<K, V> {
 	 */
 	private Map<K, V> map;
 
+	/**
+	 * If set, clear installs a new map from it instead of clearing
+	 */
+	private Supplier<? extends Map<K, V>> clearSupplier;
+
 	/**
 	 * Constructor with underlying map, no executor, so all notification will be
 	 * part of list operation thread
@@ -174,11 +432,33 @@ public class NotificationMap<K, V> implements Map<K, V> {
 		}
 		this.map = map;
 		this.ex = ex;
+		this.changeListeners = new MapChangeRegistry<>();
 		if (listener != null) {
 			listeners.add(listener);
 		}
 	}
 
+	/**
+	 * Constructor of a view (e.g. sub map) sharing listeners, executor and
+	 * copy flags of parent map, so changes through view notify listeners of
+	 * parent
+	 * 
+	 * @param parent
+	 *            map of view
+	 * @param map
+	 *            underlying view
+	 */
+	NotificationMap(NotificationMap<K, V> parent, Map<K, V> map) {
+		this.map = map;
+		this.ex = parent.ex;
+		this.listeners = parent.listeners;
+		this.keyListeners = parent.keyListeners;
+		this.changeListeners = parent.changeListeners;
+		this.RETAIN_METHOD_COPY_ENABLED = parent.RETAIN_METHOD_COPY_ENABLED;
+		this.REMOVEALL_METHOD_COPY_ENABLED = parent.REMOVEALL_METHOD_COPY_ENABLED;
+		this.CLEAR_METHOD_COPY_ENABLED = parent.CLEAR_METHOD_COPY_ENABLED;
+	}
+
 	/**
 	 * returns underlying map
 	 * 
@@ -188,6 +468,20 @@ public class NotificationMap<K, V> implements Map<K, V> {
 		return map;
 	}
 
+	/**
+	 * Sets supplier of empty map used by {@link #clear()}. With supplier, clear
+	 * replaces underlying map with a new one and old map (untouched) is passed
+	 * to listeners as CLEAR elements through a {@link KeyValue} view, so clear
+	 * costs same for any size and no copy is made. Note - map returned by
+	 * {@link #getMap()} before clear is detached after clear.
+	 * 
+	 * @param clearSupplier
+	 *            supplier of empty map, null to clear in place (default)
+	 */
+	public void setClearSupplier(Supplier<? extends Map<K, V>> clearSupplier) {
+		this.clearSupplier = clearSupplier;
+	}
+
 	@Override
 	public int size() {
 		return map.size();
@@ -208,80 +502,405 @@ public class NotificationMap<K, V> implements Map<K, V> {
 		return map.containsValue(value);
 	}
 
+	/**
+	 * Returns value of key, and notifies listener for Read event
+	 * NotifictionEventType = {@link NotificationEventType#READ} if key has
+	 * value. Nothing is created when no listener (of map or key) wants read
+	 * events.
+	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public V get(Object key) {
-		return null;
+		V value = map.get(key);
+		if (value != null) {
+			if (listeners.accepts(NotificationEventType.READ) || hasKeyListeners()) {
+				ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(key);
+				if (accepts(NotificationEventType.READ, keyed)) {
+					NotifierAgent.instance().notify(
+							new ReadNotifier<KeyValue<K, V>>(new KeyValue<K, V>((K) key, value)), listeners, keyed,
+							ex);
+				}
+			}
+			changeListeners.fire(NotificationEventType.READ, (K) key, value, value, ex);
+		}
+		return value;
+	}
+
+	/**
+	 * Returns values of given keys, and notifies listener for one Read multi
+	 * event NotifictionEventType = {@link NotificationEventType#READ}
+	 * containing found entries. Key listeners receive Read event of their key.
+	 * 
+	 * @param keys
+	 *            keys to read
+	 * @return map of found keys and values, in order of keys
+	 */
+	public Map<K, V> getAll(Collection<? extends K> keys) {
+		if (keys == null) {
+			throw new IllegalArgumentException("Keys can't be null");
+		}
+		Map<K, V> found = new LinkedHashMap<>();
+		for (K key : keys) {
+			V value = map.get(key);
+			if (value != null) {
+				found.put(key, value);
+			}
+		}
+		if (found.isEmpty()) {
+			return found;
+		}
+		if (listeners.accepts(NotificationEventType.READ)) {
+			Collection<KeyValue<K, V>> read = Collections.emptyList();
+			if (listeners.needsElements(NotificationEventType.READ)) {
+				read = new ArrayList<>(new KeyValueView<>(found));
+			}
+			NotifierAgent.instance().notify(new ReadMultiNotifier<KeyValue<K, V>>(read), listeners, ex);
+		}
+		if (hasKeyListeners()) {
+			for (Map.Entry<K, V> entry : found.entrySet()) {
+				ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(entry.getKey());
+				if (keyed != null && keyed.accepts(NotificationEventType.READ)) {
+					NotifierAgent.instance().notify(
+							new ReadNotifier<KeyValue<K, V>>(new KeyValue<K, V>(entry.getKey(), entry.getValue())),
+							keyed, ex);
+				}
+			}
+		}
+		if (changeListeners.accepts(NotificationEventType.READ)) {
+			List<MapChangeEvent<K, V>> changes = new ArrayList<>(found.size());
+			for (Map.Entry<K, V> entry : found.entrySet()) {
+				changes.add(new MapChangeEvent<K, V>(NotificationEventType.READ, entry.getKey(), entry.getValue(),
+						entry.getValue()));
+			}
+			changeListeners.fireAll(changes, ex);
+		}
+		return found;
 	}
 
 	@Override
 	public V put(K key, V value) {
 		V old = map.put(key, value);
+		ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(key);
 		if (old == null) {
-			NotifierAgent.instance().notify(new AddNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, value)), listeners,
-					ex);
-		} else {
+			if (accepts(NotificationEventType.ADD, keyed)) {
+				NotifierAgent.instance().notify(new AddNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, value)),
+						listeners, keyed, ex);
+			}
+		} else if (accepts(NotificationEventType.MODIFY, keyed)) {
 			NotifierAgent.instance().notify(
-					new ModifyNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, value), new KeyValue<K, V>(key, old)),
-					listeners, ex);
+					new ModifyNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, old), new KeyValue<K, V>(key, value)),
+					listeners, keyed, ex);
 		}
+		changeListeners.fire(old == null ? NotificationEventType.ADD : NotificationEventType.MODIFY, key, old, value,
+				ex);
 		return old;
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public V remove(Object key) {
 		V old = map.remove(key);
-		if (old != null) {// removed
+		ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(key);
+		if (old != null && accepts(NotificationEventType.DELETE, keyed)) {// removed
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<KeyValue<K, V>>(new KeyValue<K, V>((K) key, old)),
-						listeners, ex);
+						listeners, keyed, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 
 			}
 		}
+		if (old != null) {
+			changeListeners.fire(NotificationEventType.DELETE, (K) key, old, null, ex);
+		}
 		return old;
 	}
 
-	class Values {
-		V oldValue;
-		V newValue;
+	/**
+	 * Computes value of key using underlying map's compute, and notifies
+	 * listener for single Add, Modify or Delete event depending on mapping
+	 * before and after, see {@link Map#compute(Object, BiFunction)}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		if (remappingFunction == null) {
+			throw new NullPointerException();
+		}
+		Object[] old = new Object[1];
+		V value = map.compute(key, (k, v) -> {
+			old[0] = v;
+			return remappingFunction.apply(k, v);
+		});
+		notifyChange(key, (V) old[0], value);
+		return value;
+	}
+
+	/**
+	 * Computes value of absent key using underlying map's computeIfAbsent, and
+	 * notifies listener for Add event if value is added, see
+	 * {@link Map#computeIfAbsent(Object, Function)}
+	 */
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+		if (mappingFunction == null) {
+			throw new NullPointerException();
+		}
+		boolean[] invoked = new boolean[1];
+		V value = map.computeIfAbsent(key, k -> {
+			invoked[0] = true;
+			return mappingFunction.apply(k);
+		});
+		if (invoked[0]) {
+			notifyChange(key, null, value);
+		}
+		return value;
+	}
+
+	/**
+	 * Computes value of present key using underlying map's computeIfPresent,
+	 * and notifies listener for Modify or Delete event, see
+	 * {@link Map#computeIfPresent(Object, BiFunction)}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+		if (remappingFunction == null) {
+			throw new NullPointerException();
+		}
+		Object[] old = new Object[1];
+		V value = map.computeIfPresent(key, (k, v) -> {
+			old[0] = v;
+			return remappingFunction.apply(k, v);
+		});
+		notifyChange(key, (V) old[0], value);
+		return value;
+	}
+
+	/**
+	 * Merges value using underlying map's merge, and notifies listener for
+	 * single Add, Modify or Delete event, see
+	 * {@link Map#merge(Object, Object, BiFunction)}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+		if (remappingFunction == null) {
+			throw new NullPointerException();
+		}
+		Object[] old = new Object[1];
+		V merged = map.merge(key, value, (o, v) -> {
+			old[0] = o;
+			return remappingFunction.apply(o, v);
+		});
+		notifyChange(key, (V) old[0], merged);
+		return merged;
+	}
 
-		Values(V oldValue, V newValue) {
-			this.oldValue = oldValue;
-			this.newValue = newValue;
+	/**
+	 * Replaces values using underlying map's replaceAll, and notifies listener
+	 * for one Modify multi event containing changed entries (new values as
+	 * elements, replaced values as old elements). Key listeners receive Modify
+	 * event of their key.
+	 */
+	@Override
+	public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+		if (function == null) {
+			throw new NullPointerException();
+		}
+		boolean notifyChanges = changeListeners.accepts(NotificationEventType.MODIFY);
+		if (!acceptsAny(NotificationEventType.MODIFY) && !notifyChanges) {
+			map.replaceAll(function);
+			return;
+		}
+		boolean capture = listeners.needsElements(NotificationEventType.MODIFY) || hasKeyListeners();
+		List<KeyValue<K, V>> elements = capture ? new ArrayList<>() : Collections.emptyList();
+		List<KeyValue<K, V>> oldElements = capture ? new ArrayList<>() : Collections.emptyList();
+		List<MapChangeEvent<K, V>> changes = notifyChanges ? new ArrayList<>() : Collections.emptyList();
+		boolean[] changed = new boolean[1];
+		replaceValues(function, (key, value, replaced) -> {
+			if (!Objects.equals(value, replaced)) {
+				changed[0] = true;
+				if (capture) {
+					elements.add(new KeyValue<K, V>(key, replaced));
+					oldElements.add(new KeyValue<K, V>(key, value));
+				}
+				if (notifyChanges) {
+					changes.add(new MapChangeEvent<K, V>(NotificationEventType.MODIFY, key, value, replaced));
+				}
+			}
+		});
+		if (!changed[0]) {
+			return;
+		}
+		changeListeners.fireAll(changes, ex);
+		if (listeners.accepts(NotificationEventType.MODIFY)) {
+			NotifierAgent.instance().notify(new ModifyMultiNotifier<KeyValue<K, V>>(elements, oldElements),
+					listeners, ex);
+		}
+		if (hasKeyListeners()) {
+			for (int i = 0; i < elements.size(); i++) {
+				ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(elements.get(i).getKey());
+				if (keyed != null && keyed.accepts(NotificationEventType.MODIFY)) {
+					NotifierAgent.instance().notify(
+							new ModifyNotifier<KeyValue<K, V>>(oldElements.get(i), elements.get(i)), keyed, ex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Replaces each value of underlying map with result of function, reports
+	 * each replacement made
+	 */
+	void replaceValues(BiFunction<? super K, ? super V, ? extends V> function, Replacement<K, V> replacement) {
+		map.replaceAll((key, value) -> {
+			V replaced = function.apply(key, value);
+			replacement.replaced(key, value, replaced);
+			return replaced;
+		});
+	}
+
+	/**
+	 * Receiver of value replacements of {@link #replaceValues}
+	 */
+	interface Replacement<K, V> {
+		void replaced(K key, V oldValue, V newValue);
+	}
+
+	/**
+	 * Notifies change of single key, Add if key had no value, Delete if key
+	 * has no value now, otherwise Modify. Null value means key is absent (as
+	 * in {@link Map#compute(Object, BiFunction)}).
+	 * 
+	 * @param key
+	 *            key
+	 * @param old
+	 *            value before change, null if none
+	 * @param value
+	 *            value after change, null if none
+	 */
+	protected void notifyChange(K key, V old, V value) {
+		notifyChange(key, old != null, old, value != null, value);
+	}
+
+	/**
+	 * Notifies change of single key with explicit presence, for changes where
+	 * key can be mapped to null, Add if key was absent, Delete if key is absent
+	 * now, otherwise Modify
+	 * 
+	 * @param key
+	 *            key
+	 * @param wasPresent
+	 *            true if key was mapped before change
+	 * @param old
+	 *            value before change
+	 * @param present
+	 *            true if key is mapped after change
+	 * @param value
+	 *            value after change
+	 */
+	protected void notifyChange(K key, boolean wasPresent, V old, boolean present, V value) {
+		if (!wasPresent && !present) {
+			return;
+		}
+		ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(key);
+		if (!present) {
+			if (accepts(NotificationEventType.DELETE, keyed)) {
+				NotifierAgent.instance().notify(new DeleteNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, old)),
+						listeners, keyed, ex);
+			}
+		} else if (!wasPresent) {
+			if (accepts(NotificationEventType.ADD, keyed)) {
+				NotifierAgent.instance().notify(new AddNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, value)),
+						listeners, keyed, ex);
+			}
+		} else if (accepts(NotificationEventType.MODIFY, keyed)) {
+			NotifierAgent.instance().notify(
+					new ModifyNotifier<KeyValue<K, V>>(new KeyValue<K, V>(key, old), new KeyValue<K, V>(key, value)),
+					listeners, keyed, ex);
 		}
+		changeListeners.fire(!present ? NotificationEventType.DELETE
+				: !wasPresent ? NotificationEventType.ADD : NotificationEventType.MODIFY, key, old, value, ex);
 	}
 
 	/**
-	 * Warning - slow operations, because of event generation
+	 * Puts all entries of given map to underlying map in single pass, and
+	 * notifies listener for one Add multi event NotifictionEventType =
+	 * {@link NotificationEventType#ADD} with added entries and one Modify multi
+	 * event NotifictionEventType = {@link NotificationEventType#MODIFY} with
+	 * new entries of existing keys as elements and replaced entries as old
+	 * elements (same order). Key listeners receive Add or Modify event of their
+	 * key. Without listeners, underlying map's putAll is used.
 	 */
 	@Override
 	public void putAll(Map<? extends K, ? extends V> m) {
 		if (m == null) {
 			throw new IllegalArgumentException("Can't add null map to map");
 		}
-		Collection<KeyValue<K, Values>> modified = new HashSet<>();
-		Collection<KeyValue<K, V>> added = new HashSet<>();
-
-		Set<?> s = m.keySet();
-		for (K key : map.keySet()) {
-			if (s.contains(key)) {
-				modified.add(new KeyValue<K, Values>(key, new Values(map.get(key), m.get(key))));
+		boolean notifyAdd = acceptsAny(NotificationEventType.ADD);
+		boolean notifyModify = acceptsAny(NotificationEventType.MODIFY);
+		boolean notifyChanges = changeListeners.accepts(NotificationEventType.ADD)
+				|| changeListeners.accepts(NotificationEventType.MODIFY);
+		if (!notifyAdd && !notifyModify && !notifyChanges) {
+			map.putAll(m);
+			return;
+		}
+		boolean keyed = hasKeyListeners();
+		boolean captureAdded = keyed || listeners.needsElements(NotificationEventType.ADD);
+		boolean captureModified = keyed || listeners.needsElements(NotificationEventType.MODIFY);
+		List<KeyValue<K, V>> added = captureAdded ? new ArrayList<>() : Collections.emptyList();
+		List<KeyValue<K, V>> modified = captureModified ? new ArrayList<>() : Collections.emptyList();
+		List<KeyValue<K, V>> replaced = captureModified ? new ArrayList<>() : Collections.emptyList();
+		List<MapChangeEvent<K, V>> changes = notifyChanges ? new ArrayList<>() : Collections.emptyList();
+		int addedCount = 0;
+		int modifiedCount = 0;
+		for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+			K key = entry.getKey();
+			V value = entry.getValue();
+			V old = map.put(key, value);
+			if (notifyChanges) {
+				changes.add(new MapChangeEvent<K, V>(
+						old == null ? NotificationEventType.ADD : NotificationEventType.MODIFY, key, old, value));
+			}
+			if (old == null) {
+				addedCount++;
+				if (captureAdded) {
+					added.add(new KeyValue<K, V>(key, value));
+				}
 			} else {
-				added.add(new KeyValue<K, V>(key, m.get(key)));
+				modifiedCount++;
+				if (captureModified) {
+					modified.add(new KeyValue<K, V>(key, value));
+					replaced.add(new KeyValue<K, V>(key, old));
+				}
 			}
 		}
-
-		if (added.size() > 0) {
+		if (addedCount > 0 && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddMultiNotifier<KeyValue<K, V>>(added), listeners, ex);
-		} else {
-			// generate multiple modify event
-			for (KeyValue<K, Values> modify : modified) {
-				NotifierAgent.instance()
-						.notify(new ModifyNotifier<KeyValue<K, V>>(
-								new KeyValue<K, V>(modify.getKey(), modify.getValue().oldValue),
-								new KeyValue<K, V>(modify.getKey(), modify.getValue().newValue)), listeners, ex);
+		}
+		if (modifiedCount > 0 && listeners.accepts(NotificationEventType.MODIFY)) {
+			NotifierAgent.instance().notify(new ModifyMultiNotifier<KeyValue<K, V>>(modified, replaced), listeners,
+					ex);
+		}
+		if (keyed) {
+			// key listeners get event of their key only
+			for (KeyValue<K, V> add : added) {
+				ListenerRegistry<KeyValue<K, V>> registry = keyListeners(add.getKey());
+				if (registry != null && registry.accepts(NotificationEventType.ADD)) {
+					NotifierAgent.instance().notify(new AddNotifier<KeyValue<K, V>>(add), registry, ex);
+				}
+			}
+			for (int i = 0; i < modified.size(); i++) {
+				ListenerRegistry<KeyValue<K, V>> registry = keyListeners(modified.get(i).getKey());
+				if (registry != null && registry.accepts(NotificationEventType.MODIFY)) {
+					NotifierAgent.instance().notify(
+							new ModifyNotifier<KeyValue<K, V>>(replaced.get(i), modified.get(i)), registry, ex);
+				}
 			}
 		}
+		changeListeners.fireAll(changes, ex);
 	}
 
 	/**
@@ -289,48 +908,424 @@ public class NotificationMap<K, V> implements Map<K, V> {
 	 * {@link NotificationEventType#CLEAR} See {@link List#clear()}
 	 * 
 	 * Note - It iterates over collection to capture elements, so extra
-	 * instruction, careful in performance apps
+	 * instruction, careful in performance apps. See
+	 * {@link #setClearSupplier(Supplier)} to avoid it.
 	 */
 	public void clear() {
+		Collection<KeyValue<K, V>> deleted = Collections.emptyList();
+		boolean notify = acceptsAny(NotificationEventType.CLEAR);
+		if (clearSupplier != null) {
+			Map<K, V> old = map;
+			Map<K, V> fresh = clearSupplier.get();
+			if (fresh == null) {
+				throw new IllegalStateException("Clear supplier returned null");
+			}
+			map = fresh;
+			deleted = new KeyValueView<>(old);
+		} else {
+			if (CLEAR_METHOD_COPY_ENABLED && notify && needsElementsAny(NotificationEventType.CLEAR)) {
+				Collection<KeyValue<K, V>> copy = new ArrayList<>(map.size());
+				map.forEach((key, value) -> copy.add(new KeyValue<K, V>(key, value)));
+				deleted = copy;
+			}
+			map.clear();
+		}
+		if (notify) {
+			ListenerRegistry<KeyValue<K, V>> all = listeners;
+			if (hasKeyListeners()) {
+				// every key is cleared, each listener notified once
+				Collection<ListenerRegistry<KeyValue<K, V>>> registries = keyRegistries();
+				List<Snapshot<KeyValue<K, V>>> snapshots = new ArrayList<>(registries.size() + 1);
+				snapshots.add(listeners.snapshot());
+				for (ListenerRegistry<KeyValue<K, V>> keyed : registries) {
+					snapshots.add(keyed.snapshot());
+				}
+				all = ListenerRegistry.union(snapshots, true);
+			}
+			NotifierAgent.instance().notify(new ClearNotifier<KeyValue<K, V>>(deleted), all, ex);
+		}
+		changeListeners.fire(NotificationEventType.CLEAR, null, null, null, ex);
+		return;
+	}
 
-		Map<K, V> elements = new HashMap<>();
-		Collection<KeyValue<K, V>> deleted = new ArrayList<>();
+	/**
+	 * Read only collection of {@link KeyValue} over a map, entries are created
+	 * while iterating
+	 */
+	static class KeyValueView<K, V> extends AbstractCollection<KeyValue<K, V>> {
+		private final Map<K, V> map;
 
-		if (CLEAR_METHOD_COPY_ENABLED) {
-			map.forEach(elements::putIfAbsent);
-			for (K key : elements.keySet()) {
-				deleted.add(new KeyValue<K, V>(key, elements.get(key)));
-			}
+		KeyValueView(Map<K, V> map) {
+			this.map = map;
+		}
 
+		@Override
+		public Iterator<KeyValue<K, V>> iterator() {
+			Iterator<Map.Entry<K, V>> entries = map.entrySet().iterator();
+			return new Iterator<KeyValue<K, V>>() {
+				public boolean hasNext() {
+					return entries.hasNext();
+				}
+
+				public KeyValue<K, V> next() {
+					Map.Entry<K, V> entry = entries.next();
+					return new KeyValue<K, V>(entry.getKey(), entry.getValue());
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return map.size();
 		}
-		map.clear();
-		NotifierAgent.instance().notify(new ClearNotifier<KeyValue<K, V>>(deleted), listeners, ex);
-		return;
 	}
 
 	/**
-	 * Returns a {@link NotificationSet}, for events, add listener on that
+	 * Returns key set view of map, created once. Removal through view
+	 * (remove, iterator remove, removeAll, retainAll, removeIf, clear)
+	 * notifies map listeners, bulk removal as one Delete multi event. Adding
+	 * is not supported, iterating generates no event.
 	 */
 	@Override
 	public Set<K> keySet() {
-		return new NotificationSet<>(map.keySet());
+		Set<K> view = keySetView;
+		if (view == null) {
+			view = keySetView = new KeySetView();
+		}
+		return view;
 	}
 
 	/**
-	 * Returns {@link NotificationCollection}-
-	 * {@link AbstractNotificationCollection}, for events, add listener on that
+	 * Returns values view of map, created once, see {@link #keySet()}
 	 */
 	@Override
 	public Collection<V> values() {
-		return new AbstractNotificationCollection<>(map.values());
+		Collection<V> view = valuesView;
+		if (view == null) {
+			view = valuesView = new ValuesView();
+		}
+		return view;
 	}
 
 	/**
-	 * Returns a {@link NotificationSet}, for events, add listener on that
+	 * Returns entry set view of map, created once, see {@link #keySet()}.
+	 * {@link Map.Entry#setValue(Object)} of entries notifies Modify event.
 	 */
 	@Override
 	public Set<java.util.Map.Entry<K, V>> entrySet() {
-		return new NotificationSet<>(map.entrySet());
+		Set<Map.Entry<K, V>> view = entrySetView;
+		if (view == null) {
+			view = entrySetView = new EntrySetView();
+		}
+		return view;
+	}
+
+	/**
+	 * Removes entries matching filter from underlying map (using its entry set
+	 * removeIf) and notifies listener for one Delete multi event
+	 * NotifictionEventType = {@link NotificationEventType#DELETE}, key
+	 * listeners for Delete event of their key and change listeners for one
+	 * batch.
+	 * 
+	 * @param filter
+	 *            entries to remove
+	 * @param copy
+	 *            false if copy of elements is disabled for operation
+	 * @return true if map changed
+	 */
+	boolean removeEntries(Predicate<? super Map.Entry<K, V>> filter, boolean copy) {
+		if (filter == null) {
+			throw new NullPointerException();
+		}
+		boolean notifyChanges = changeListeners.accepts(NotificationEventType.DELETE);
+		if (!acceptsAny(NotificationEventType.DELETE) && !notifyChanges) {
+			return map.entrySet().removeIf(filter);
+		}
+		boolean capture = notifyChanges || hasKeyListeners()
+				|| (copy && listeners.needsElements(NotificationEventType.DELETE));
+		List<K> keys = capture ? new ArrayList<>() : Collections.emptyList();
+		List<V> values = capture ? new ArrayList<>() : Collections.emptyList();
+		boolean removed = map.entrySet().removeIf(entry -> {
+			if (filter.test(entry)) {
+				if (capture) {
+					keys.add(entry.getKey());
+					values.add(entry.getValue());
+				}
+				return true;
+			}
+			return false;
+		});
+		if (!removed) {
+			return false;
+		}
+		if (listeners.accepts(NotificationEventType.DELETE)) {
+			List<KeyValue<K, V>> deleted = Collections.emptyList();
+			if (copy && listeners.needsElements(NotificationEventType.DELETE)) {
+				deleted = new ArrayList<>(keys.size());
+				for (int i = 0; i < keys.size(); i++) {
+					deleted.add(new KeyValue<K, V>(keys.get(i), values.get(i)));
+				}
+			}
+			NotifierAgent.instance().notify(new DeleteMultiNotifier<KeyValue<K, V>>(deleted), listeners, ex);
+		}
+		if (hasKeyListeners()) {
+			for (int i = 0; i < keys.size(); i++) {
+				ListenerRegistry<KeyValue<K, V>> keyed = keyListeners(keys.get(i));
+				if (keyed != null && keyed.accepts(NotificationEventType.DELETE)) {
+					NotifierAgent.instance().notify(
+							new DeleteNotifier<KeyValue<K, V>>(new KeyValue<K, V>(keys.get(i), values.get(i))),
+							keyed, ex);
+				}
+			}
+		}
+		if (notifyChanges) {
+			List<MapChangeEvent<K, V>> changes = new ArrayList<>(keys.size());
+			for (int i = 0; i < keys.size(); i++) {
+				changes.add(new MapChangeEvent<K, V>(NotificationEventType.DELETE, keys.get(i), values.get(i), null));
+			}
+			changeListeners.fireAll(changes, ex);
+		}
+		return true;
+	}
+
+	/**
+	 * Iterator of views, iterates underlying entries, remove notifies Delete
+	 * event
+	 */
+	abstract class ViewIterator<T> implements Iterator<T> {
+		private final Iterator<Map.Entry<K, V>> entries = map.entrySet().iterator();
+		private Map.Entry<K, V> current;
+
+		@Override
+		public boolean hasNext() {
+			return entries.hasNext();
+		}
+
+		@Override
+		public T next() {
+			current = entries.next();
+			return convert(current);
+		}
+
+		abstract T convert(Map.Entry<K, V> entry);
+
+		@Override
+		public void remove() {
+			if (current == null) {
+				throw new IllegalStateException();
+			}
+			K key = current.getKey();
+			V value = current.getValue();
+			entries.remove();
+			current = null;
+			notifyChange(key, true, value, false, null);
+		}
+	}
+
+	final class KeySetView extends AbstractSet<K> {
+		@Override
+		public Iterator<K> iterator() {
+			return new ViewIterator<K>() {
+				K convert(Map.Entry<K, V> entry) {
+					return entry.getKey();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return map.containsKey(o);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean remove(Object o) {
+			if (!map.containsKey(o)) {
+				return false;
+			}
+			// key may be mapped to null, which remove(Object) can't tell
+			V old = map.remove(o);
+			notifyChange((K) o, true, old, false, null);
+			return true;
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			Objects.requireNonNull(c);
+			return removeEntries(entry -> c.contains(entry.getKey()), REMOVEALL_METHOD_COPY_ENABLED);
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			Objects.requireNonNull(c);
+			return removeEntries(entry -> !c.contains(entry.getKey()), RETAIN_METHOD_COPY_ENABLED);
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super K> filter) {
+			Objects.requireNonNull(filter);
+			return removeEntries(entry -> filter.test(entry.getKey()), true);
+		}
+
+		@Override
+		public void clear() {
+			NotificationMap.this.clear();
+		}
+	}
+
+	final class ValuesView extends AbstractCollection<V> {
+		@Override
+		public Iterator<V> iterator() {
+			return new ViewIterator<V>() {
+				V convert(Map.Entry<K, V> entry) {
+					return entry.getValue();
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return map.containsValue(o);
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			Objects.requireNonNull(c);
+			return removeEntries(entry -> c.contains(entry.getValue()), REMOVEALL_METHOD_COPY_ENABLED);
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			Objects.requireNonNull(c);
+			return removeEntries(entry -> !c.contains(entry.getValue()), RETAIN_METHOD_COPY_ENABLED);
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super V> filter) {
+			Objects.requireNonNull(filter);
+			return removeEntries(entry -> filter.test(entry.getValue()), true);
+		}
+
+		@Override
+		public void clear() {
+			NotificationMap.this.clear();
+		}
+	}
+
+	final class EntrySetView extends AbstractSet<Map.Entry<K, V>> {
+		@Override
+		public Iterator<Map.Entry<K, V>> iterator() {
+			return new ViewIterator<Map.Entry<K, V>>() {
+				Map.Entry<K, V> convert(Map.Entry<K, V> entry) {
+					return new ViewEntry(entry);
+				}
+			};
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false;
+			}
+			Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+			Object key = entry.getKey();
+			V value = map.get(key);
+			return Objects.equals(value, entry.getValue()) && (value != null || map.containsKey(key));
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean remove(Object o) {
+			if (!contains(o)) {
+				return false;
+			}
+			// value may be null, which remove(Object) can't tell from absent
+			K key = (K) ((Map.Entry<?, ?>) o).getKey();
+			V old = map.remove(key);
+			notifyChange(key, true, old, false, null);
+			return true;
+		}
+
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			Objects.requireNonNull(c);
+			return removeEntries(entry -> c.contains(entry), REMOVEALL_METHOD_COPY_ENABLED);
+		}
+
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			Objects.requireNonNull(c);
+			return removeEntries(entry -> !c.contains(entry), RETAIN_METHOD_COPY_ENABLED);
+		}
+
+		@Override
+		public boolean removeIf(Predicate<? super Map.Entry<K, V>> filter) {
+			Objects.requireNonNull(filter);
+			return removeEntries(entry -> filter.test(entry), true);
+		}
+
+		@Override
+		public void clear() {
+			NotificationMap.this.clear();
+		}
+	}
+
+	/**
+	 * Entry of entry set view, setValue notifies Modify event
+	 */
+	final class ViewEntry implements Map.Entry<K, V> {
+		private final Map.Entry<K, V> entry;
+
+		ViewEntry(Map.Entry<K, V> entry) {
+			this.entry = entry;
+		}
+
+		@Override
+		public K getKey() {
+			return entry.getKey();
+		}
+
+		@Override
+		public V getValue() {
+			return entry.getValue();
+		}
+
+		@Override
+		public V setValue(V value) {
+			V old = entry.setValue(value);
+			notifyChange(entry.getKey(), true, old, true, value);
+			return old;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return entry.equals(o);
+		}
+
+		@Override
+		public int hashCode() {
+			return entry.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return entry.toString();
+		}
 	}
 
 }
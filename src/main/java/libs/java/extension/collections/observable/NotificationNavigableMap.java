@@ -0,0 +1,498 @@
+package libs.java.extension.collections.observable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.SortedMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.RangeIndex.Range;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Observable {@link NavigableMap} (e.g. over TreeMap or
+ * ConcurrentSkipListMap). Listeners can be added for a key range with
+ * {@link #addListener(Object, Object, NotificationListener)}, range listeners
+ * are kept in an interval index, so a change finds listeners of ranges
+ * containing its key in O(log n + k). Like key listeners, range listeners
+ * receive single event of each changed key of their range (and clear), a
+ * listener of several ranges (or of key and range) containing changed key
+ * receives event once.
+ * <br>
+ * Sub map views (subMap, headMap, tailMap, descendingMap) are live
+ * {@link NotificationNavigableMap}s, changes through view notify listeners of
+ * map, clear of view notifies one Delete multi event of removed entries.
+ * Listener added to a view (without key or range) is added for range of view.
+ * pollFirstEntry and pollLastEntry notify Delete event. navigableKeySet and
+ * descendingKeySet are read only, other navigation methods generate no event.
+ * Clear supplier is not supported, as views are over underlying map.
+ * Usage <br>
+ * NotificationNavigableMap&lt;Long, Double&gt; book = new
+ * NotificationNavigableMap&lt;&gt;(new TreeMap&lt;&gt;());
+ * book.addListener(100L, 200L, listener); book.headMap(150L).clear();
+ *
+ * @author Kuldeep
+ *
+ * @param <K>
+ * @param <V>
+ */
+public class NotificationNavigableMap<K, V> extends NotificationMap<K, V> implements NavigableMap<K, V> {
+
+	/**
+	 * Listeners of key ranges, shared with views
+	 */
+	private final RangeIndex<K, ListenerRegistry<KeyValue<K, V>>> ranges;
+	/**
+	 * Range of view in key order of map, null for map itself
+	 */
+	private final Range<K> scope;
+	/**
+	 * true if view is in descending order of map
+	 */
+	private final boolean descending;
+
+	/**
+	 * Constructor with underlying map, no executor, so all notification will be
+	 * part of map operation thread
+	 *
+	 * @param map
+	 *            underlying map
+	 */
+	public NotificationNavigableMap(NavigableMap<K, V> map) {
+		this(map, null);
+	}
+
+	/**
+	 * Constructor with map and executor, all notification to listeners will be
+	 * sent using this executor
+	 *
+	 * @param map
+	 *            underlying map
+	 * @param ex
+	 *            executor
+	 */
+	public NotificationNavigableMap(NavigableMap<K, V> map, Executor ex) {
+		this(map, ex, null);
+	}
+
+	/**
+	 * Constructor with map, executor and listener
+	 *
+	 * @param map
+	 *            underlying map
+	 * @param ex
+	 *            executor
+	 * @param listener
+	 *            listener for event
+	 * @throws IllegalArgumentException
+	 *             if map is null
+	 */
+	public NotificationNavigableMap(NavigableMap<K, V> map, Executor ex,
+			NotificationListener<KeyValue<K, V>> listener) {
+		super(map, ex, listener);
+		this.ranges = new RangeIndex<>(map.comparator());
+		this.scope = null;
+		this.descending = false;
+	}
+
+	/**
+	 * View constructor
+	 */
+	private NotificationNavigableMap(NotificationNavigableMap<K, V> parent, NavigableMap<K, V> map, Range<K> scope,
+			boolean descending) {
+		super(parent, map);
+		this.ranges = parent.ranges;
+		this.scope = scope;
+		this.descending = descending;
+	}
+
+	private NavigableMap<K, V> navigableMap() {
+		return (NavigableMap<K, V>) getMap();
+	}
+
+	/**
+	 * Not supported, sub map views are over underlying map, they would keep
+	 * the map replaced by clear supplier
+	 *
+	 * @throws UnsupportedOperationException
+	 *             always
+	 */
+	@Override
+	public void setClearSupplier(Supplier<? extends Map<K, V>> clearSupplier) {
+		throw new UnsupportedOperationException("Clear supplier not supported by navigable map");
+	}
+
+	/**
+	 * Adds listener, on a view listener is added for range of view
+	 */
+	@Override
+	public void addListener(NotificationListener<KeyValue<K, V>> listener) {
+		addListener(listener, EnumSet.allOf(NotificationEventType.class));
+	}
+
+	/**
+	 * Adds listener for given event types, on a view listener is added for
+	 * range of view
+	 */
+	@Override
+	public void addListener(NotificationListener<KeyValue<K, V>> listener, EnumSet<NotificationEventType> types) {
+		if (scope == null) {
+			super.addListener(listener, types);
+		} else {
+			addListener(scope, listener, types);
+		}
+	}
+
+	/**
+	 * Removes listener, on a view listener of range of view is removed
+	 */
+	@Override
+	public boolean removeListener(NotificationListener<KeyValue<K, V>> listener) {
+		return scope == null ? super.removeListener(listener) : removeListener(scope, listener);
+	}
+
+	/**
+	 * Adds listener for keys from fromKey (inclusive) to toKey (exclusive), see
+	 * {@link #addListener(Object, boolean, Object, boolean, NotificationListener, EnumSet)}
+	 *
+	 * @param fromKey
+	 *            low key, null for no low bound
+	 * @param toKey
+	 *            high key, null for no high bound
+	 * @param listener
+	 *            listener object
+	 */
+	public void addListener(K fromKey, K toKey, NotificationListener<KeyValue<K, V>> listener) {
+		addListener(fromKey, true, toKey, false, listener, EnumSet.allOf(NotificationEventType.class));
+	}
+
+	/**
+	 * Adds listener for a key range and given event types. Listener receives
+	 * events of keys in range only (and clear). If listener is already added
+	 * for same range, its event types are replaced.
+	 *
+	 * @param fromKey
+	 *            low key, null for no low bound
+	 * @param fromInclusive
+	 *            true if low key is in range
+	 * @param toKey
+	 *            high key, null for no high bound
+	 * @param toInclusive
+	 *            true if high key is in range
+	 * @param listener
+	 *            listener object
+	 * @param types
+	 *            event types to listen
+	 * @throws IllegalArgumentException
+	 *             if fromKey is greater than toKey
+	 */
+	public void addListener(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive,
+			NotificationListener<KeyValue<K, V>> listener, EnumSet<NotificationEventType> types) {
+		addListener(range(fromKey, fromInclusive, toKey, toInclusive), listener, types);
+	}
+
+	/**
+	 * Removes listener of range fromKey (inclusive) to toKey (exclusive)
+	 *
+	 * @return status
+	 */
+	public boolean removeListener(K fromKey, K toKey, NotificationListener<KeyValue<K, V>> listener) {
+		return removeListener(fromKey, true, toKey, false, listener);
+	}
+
+	/**
+	 * Removes listener of a key range
+	 *
+	 * @return status
+	 */
+	public boolean removeListener(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive,
+			NotificationListener<KeyValue<K, V>> listener) {
+		return removeListener(range(fromKey, fromInclusive, toKey, toInclusive), listener);
+	}
+
+	private Range<K> range(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		Range<K> range = new Range<>(fromKey, fromKey != null, fromInclusive, toKey, toKey != null, toInclusive);
+		if (range.lowBounded && range.highBounded && ranges.compare(fromKey, toKey) > 0) {
+			throw new IllegalArgumentException("fromKey > toKey");
+		}
+		return range;
+	}
+
+	private void addListener(Range<K> range, NotificationListener<KeyValue<K, V>> listener,
+			EnumSet<NotificationEventType> types) {
+		if (types == null) {
+			throw new IllegalArgumentException("Event types can't be null");
+		}
+		if (listener == null) {
+			return;
+		}
+		synchronized (ranges) {
+			ListenerRegistry<KeyValue<K, V>> registry = ranges.get(range);
+			if (registry == null) {
+				registry = new ListenerRegistry<>(true);
+				registry.add(listener, types);
+				ranges.put(range, registry);
+			} else {
+				registry.add(listener, types);
+			}
+		}
+	}
+
+	private boolean removeListener(Range<K> range, NotificationListener<KeyValue<K, V>> listener) {
+		if (listener == null) {
+			return false;
+		}
+		synchronized (ranges) {
+			ListenerRegistry<KeyValue<K, V>> registry = ranges.get(range);
+			if (registry == null || !registry.remove(listener)) {
+				return false;
+			}
+			if (registry.isEmpty()) {
+				ranges.remove(range);
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Listeners of key and of ranges containing key, combined if more than
+	 * one registry matches
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	ListenerRegistry<KeyValue<K, V>> keyListeners(Object key) {
+		ListenerRegistry<KeyValue<K, V>> keyed = super.keyListeners(key);
+		if (key == null || ranges.isEmpty()) {
+			return keyed;
+		}
+		List<ListenerRegistry<KeyValue<K, V>>> found = ranges.find((K) key);
+		if (found.isEmpty()) {
+			return keyed;
+		}
+		if (keyed == null && found.size() == 1) {
+			return found.get(0);
+		}
+		// one pass over all matching registries
+		List<Snapshot<KeyValue<K, V>>> snapshots = new ArrayList<>(found.size() + 1);
+		if (keyed != null) {
+			snapshots.add(keyed.snapshot());
+		}
+		for (ListenerRegistry<KeyValue<K, V>> registry : found) {
+			snapshots.add(registry.snapshot());
+		}
+		return ListenerRegistry.union(snapshots, true);
+	}
+
+	@Override
+	boolean hasKeyListeners() {
+		return super.hasKeyListeners() || !ranges.isEmpty();
+	}
+
+	@Override
+	Collection<ListenerRegistry<KeyValue<K, V>>> keyRegistries() {
+		List<ListenerRegistry<KeyValue<K, V>>> rangeRegistries = ranges.values();
+		if (rangeRegistries.isEmpty()) {
+			return super.keyRegistries();
+		}
+		List<ListenerRegistry<KeyValue<K, V>>> all = new ArrayList<>(super.keyRegistries());
+		all.addAll(rangeRegistries);
+		return all;
+	}
+
+	/**
+	 * Clears map, on a view removes entries of view and notifies one Delete
+	 * multi event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 * (see {@link NotificationMap#clear()} for map)
+	 */
+	@Override
+	public void clear() {
+		if (scope == null) {
+			super.clear();
+		} else {
+			removeEntries(entry -> true, CLEAR_METHOD_COPY_ENABLED);
+		}
+	}
+
+	/**
+	 * Removes first entry, notifies Delete event if removed
+	 */
+	@Override
+	public Map.Entry<K, V> pollFirstEntry() {
+		Map.Entry<K, V> entry = navigableMap().pollFirstEntry();
+		if (entry != null) {
+			notifyChange(entry.getKey(), true, entry.getValue(), false, null);
+		}
+		return entry;
+	}
+
+	/**
+	 * Removes last entry, notifies Delete event if removed
+	 */
+	@Override
+	public Map.Entry<K, V> pollLastEntry() {
+		Map.Entry<K, V> entry = navigableMap().pollLastEntry();
+		if (entry != null) {
+			notifyChange(entry.getKey(), true, entry.getValue(), false, null);
+		}
+		return entry;
+	}
+
+	@Override
+	public Map.Entry<K, V> lowerEntry(K key) {
+		return navigableMap().lowerEntry(key);
+	}
+
+	@Override
+	public K lowerKey(K key) {
+		return navigableMap().lowerKey(key);
+	}
+
+	@Override
+	public Map.Entry<K, V> floorEntry(K key) {
+		return navigableMap().floorEntry(key);
+	}
+
+	@Override
+	public K floorKey(K key) {
+		return navigableMap().floorKey(key);
+	}
+
+	@Override
+	public Map.Entry<K, V> ceilingEntry(K key) {
+		return navigableMap().ceilingEntry(key);
+	}
+
+	@Override
+	public K ceilingKey(K key) {
+		return navigableMap().ceilingKey(key);
+	}
+
+	@Override
+	public Map.Entry<K, V> higherEntry(K key) {
+		return navigableMap().higherEntry(key);
+	}
+
+	@Override
+	public K higherKey(K key) {
+		return navigableMap().higherKey(key);
+	}
+
+	@Override
+	public Map.Entry<K, V> firstEntry() {
+		return navigableMap().firstEntry();
+	}
+
+	@Override
+	public Map.Entry<K, V> lastEntry() {
+		return navigableMap().lastEntry();
+	}
+
+	@Override
+	public Comparator<? super K> comparator() {
+		return navigableMap().comparator();
+	}
+
+	@Override
+	public K firstKey() {
+		return navigableMap().firstKey();
+	}
+
+	@Override
+	public K lastKey() {
+		return navigableMap().lastKey();
+	}
+
+	/**
+	 * Returns read only key set, see {@link #keySet()} for removal with
+	 * notification
+	 */
+	@Override
+	public NavigableSet<K> navigableKeySet() {
+		return Collections.unmodifiableNavigableSet(navigableMap().navigableKeySet());
+	}
+
+	/**
+	 * Returns read only key set in descending order
+	 */
+	@Override
+	public NavigableSet<K> descendingKeySet() {
+		return Collections.unmodifiableNavigableSet(navigableMap().descendingKeySet());
+	}
+
+	/**
+	 * Returns live view in descending order, see class note for views
+	 */
+	@Override
+	public NavigableMap<K, V> descendingMap() {
+		return new NotificationNavigableMap<>(this, navigableMap().descendingMap(),
+				scope == null ? Range.<K> all() : scope, !descending);
+	}
+
+	/**
+	 * Returns live view of range, see class note for views
+	 */
+	@Override
+	public NavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+		NavigableMap<K, V> view = navigableMap().subMap(fromKey, fromInclusive, toKey, toInclusive);
+		return descending ? view(view, toKey, toInclusive, true, fromKey, fromInclusive, true)
+				: view(view, fromKey, fromInclusive, true, toKey, toInclusive, true);
+	}
+
+	/**
+	 * Returns live view of keys before toKey, see class note for views
+	 */
+	@Override
+	public NavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+		NavigableMap<K, V> view = navigableMap().headMap(toKey, inclusive);
+		return descending ? view(view, toKey, inclusive, true, null, false, false)
+				: view(view, null, false, false, toKey, inclusive, true);
+	}
+
+	/**
+	 * Returns live view of keys after fromKey, see class note for views
+	 */
+	@Override
+	public NavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+		NavigableMap<K, V> view = navigableMap().tailMap(fromKey, inclusive);
+		return descending ? view(view, null, false, false, fromKey, inclusive, true)
+				: view(view, fromKey, inclusive, true, null, false, false);
+	}
+
+	@Override
+	public SortedMap<K, V> subMap(K fromKey, K toKey) {
+		return subMap(fromKey, true, toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> headMap(K toKey) {
+		return headMap(toKey, false);
+	}
+
+	@Override
+	public SortedMap<K, V> tailMap(K fromKey) {
+		return tailMap(fromKey, true);
+	}
+
+	/**
+	 * Creates view, unbounded side (in key order of map) keeps bound of this
+	 * view. Underlying map checks that range is within this view.
+	 */
+	private NotificationNavigableMap<K, V> view(NavigableMap<K, V> view, K low, boolean lowInclusive,
+			boolean lowBounded, K high, boolean highInclusive, boolean highBounded) {
+		Range<K> parent = scope == null ? Range.<K> all() : scope;
+		Range<K> range = new Range<>(lowBounded ? low : parent.low, lowBounded || parent.lowBounded,
+				lowBounded ? lowInclusive : parent.lowInclusive, highBounded ? high : parent.high,
+				highBounded || parent.highBounded, highBounded ? highInclusive : parent.highInclusive);
+		return new NotificationNavigableMap<>(this, view, range, descending);
+	}
+
+}
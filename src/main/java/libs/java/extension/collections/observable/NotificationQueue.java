@@ -1,21 +1,23 @@
 package libs.java.extension.collections.observable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Spliterator;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 import libs.java.extension.collections.observable.notifier.AddMultiNotifier;
 import libs.java.extension.collections.observable.notifier.AddNotifier;
 import libs.java.extension.collections.observable.notifier.ClearNotifier;
-import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
 import libs.java.extension.collections.observable.notifier.DeleteNotifier;
 import libs.java.extension.collections.observable.notifier.NotifierAgent;
-import libs.java.extension.collections.observable.notifier.ReadNotifier;
 
 /**
  * Observable Queue. 
@@ -32,7 +34,8 @@ import libs.java.extension.collections.observable.notifier.ReadNotifier;
 				});
 				a.add ("ABC");
 				</br>
- * NOTE - As of now, no event generated on stream based operation.
+ * NOTE - stream operations generate Read multi event per split, see
+ * {@link NotificationSpliterator}.
  				
  * @author Kuldeep
  *
@@ -123,7 +126,21 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 
 	@Override
 	public Iterator<E> iterator() {
-		return new NotificationIterator<>(queue.iterator(), listeners, ex);
+		return new NotificationIterator<>(queue.iterator(), listeners, ex, readChunkSize, readSampler);
+	}
+
+	/**
+	 * Returns {@link NotificationSpliterator}, so stream and parallel stream
+	 * generate Read multi event per split NotifictionEventType =
+	 * {@link NotificationEventType#READ}. Underlying spliterator is returned
+	 * when no listener wants read events.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			return queue.spliterator();
+		}
+		return new NotificationSpliterator<>(queue.spliterator(), listeners, ex);
 	}
 
 	@Override
@@ -149,9 +166,11 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public boolean remove(Object o) {
 		boolean removed = queue.remove(o);
-		if (removed) {
+		if (removed && listeners.accepts(NotificationEventType.DELETE)) {
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<E>((E) o), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 
 			}
@@ -177,7 +196,7 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public boolean addAll(Collection<? extends E> c) {
 		boolean added = queue.addAll(c);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddMultiNotifier<E>(c), listeners, ex);
 		}
 		return added;
@@ -196,21 +215,7 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	 */
 	@Override
 	public boolean removeAll(Collection<?> c) {
-		Collection<E> removedElements = new LinkedList<>();
-		for (E e : queue) {
-			if (c.contains(e)) {
-				removedElements.add(e);
-			}
-		}
-		boolean removed = queue.removeAll(c);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
-
-		return removed;
+		return bulkRemove(queue, c, false, REMOVEALL_METHOD_COPY_ENABLED);
 	}
 
 	/**
@@ -226,30 +231,32 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	 * 
 	 */
 	public boolean retainAll(Collection<?> elements) {
-		Collection<E> removedElements = new ArrayList<>();
-
-		if (RETAIN_METHOD_COPY_ENABLED) {
-			Collection<E> containedElements = new ArrayList<>();
-			for (E e : queue) {
-				if (elements.contains(e)) {
-					containedElements.add(e);
-				}
-			}
-			for (E e : queue) {
-				if (!containedElements.contains(e)) {
-					removedElements.add(e);
-				}
-			}
-		}
-		boolean removed = queue.retainAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
+		return bulkRemove(queue, elements, true, RETAIN_METHOD_COPY_ENABLED);
+	}
 
-		return removed;
+	/**
+	 * Removes elements matching filter, and notifies listener for Delete multi
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 * {@link Queue#removeIf(Predicate)}. Uses underlying queue's removeIf, one
+	 * event per call
+	 * 
+	 * @param filter
+	 *            elements to remove
+	 * @return status
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		return removeMatching(queue, filter, true);
+	}
+
+	/**
+	 * Performs action on each element, and notifies listener for Read multi
+	 * event NotifictionEventType = {@link NotificationEventType#READ}
+	 * {@link Queue#forEach(Consumer)}. One event per call, not per element
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		forEachRead(queue, action);
 	}
 
 	/**
@@ -262,12 +269,14 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public void clear() {
 
-		List<E> elements = new ArrayList<>();
-		if (CLEAR_METHOD_COPY_ENABLED) {
-			queue.stream().collect(Collectors.toList());
+		List<E> elements = Collections.emptyList();
+		if (CLEAR_METHOD_COPY_ENABLED && listeners.needsElements(NotificationEventType.CLEAR)) {
+			elements = new ArrayList<>(queue);
 		}
 		queue.clear();
-		NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		if (listeners.accepts(NotificationEventType.CLEAR)) {
+			NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		}
 		return;
 	}
 
@@ -283,7 +292,7 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	 */
 	public boolean add(E e) {
 		boolean added = queue.add(e);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
 		}
 		return added;
@@ -292,7 +301,7 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public boolean offer(E e) {
 		boolean added = queue.offer(e);
-		if (added) {
+		if (added && listeners.accepts(NotificationEventType.ADD)) {
 			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
 		}
 		return added;
@@ -309,9 +318,11 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public E remove() {
 		E element = queue.remove();
-		if (element != null) {
+		if (element != null && listeners.accepts(NotificationEventType.DELETE)) {
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<E>(element), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 			}
 		}
@@ -321,7 +332,7 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public E poll() {
 		E element = queue.poll();
-		if (element != null) {
+		if (element != null && listeners.accepts(NotificationEventType.DELETE)) {
 			NotifierAgent.instance().notify(new DeleteNotifier<E>(element), listeners, ex);
 		}
 		return element;
@@ -330,8 +341,8 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public E element() {
 		E element = queue.element();
-		if (element != null) {
-			NotifierAgent.instance().notify(new ReadNotifier<E>(element), listeners, ex);
+		if (element != null && listeners.accepts(NotificationEventType.READ)) {
+			notifyRead(element);
 		}
 		return element;
 	}
@@ -339,8 +350,8 @@ public class NotificationQueue<E> extends NotificationCollection<E> implements Q
 	@Override
 	public E peek() {
 		E element = queue.peek();
-		if (element != null) {
-			NotifierAgent.instance().notify(new ReadNotifier<E>(element), listeners, ex);
+		if (element != null && listeners.accepts(NotificationEventType.READ)) {
+			notifyRead(element);
 		}
 		return element;
 	}
@@ -2,18 +2,21 @@ package libs.java.extension.collections.observable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.concurrent.Executor;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 import libs.java.extension.collections.observable.notifier.AddMultiNotifier;
 import libs.java.extension.collections.observable.notifier.AddNotifier;
 import libs.java.extension.collections.observable.notifier.ClearNotifier;
-import libs.java.extension.collections.observable.notifier.DeleteMultiNotifier;
 import libs.java.extension.collections.observable.notifier.DeleteNotifier;
 import libs.java.extension.collections.observable.notifier.ModifyNotifier;
 import libs.java.extension.collections.observable.notifier.NotifierAgent;
@@ -31,7 +34,8 @@ import libs.java.extension.collections.observable.notifier.NotifierAgent;
 
 				});
 				a.add ("ABC");
-  * NOTE - As of now, no event generated on stream based operation.
+  * NOTE - stream operations generate Read multi event per split, see
+  * {@link NotificationSpliterator}.
  
  * 
  * @author Kuldeep
@@ -123,7 +127,21 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 
 	@Override
 	public Iterator<E> iterator() {
-		return new NotificationIterator<>(set.iterator(), listeners, ex);
+		return new NotificationIterator<>(set.iterator(), listeners, ex, readChunkSize, readSampler);
+	}
+
+	/**
+	 * Returns {@link NotificationSpliterator}, so stream and parallel stream
+	 * generate Read multi event per split NotifictionEventType =
+	 * {@link NotificationEventType#READ}. Underlying spliterator is returned
+	 * when no listener wants read events.
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			return set.spliterator();
+		}
+		return new NotificationSpliterator<>(set.spliterator(), listeners, ex);
 	}
 
 	@Override
@@ -137,29 +155,6 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 		return set.toArray(a);
 	}
 
-	/**
-	 * Add listener to the set. Not allow to add same listener object twice
-	 * 
-	 * @param listener
-	 *            listener object
-	 */
-	public void addListener(NotificationListener<E> listener) {
-		if (!listeners.contains(listener)) {
-			this.listeners.add(listener);
-		}
-	}
-
-	/**
-	 * Removes listener to the set.
-	 * 
-	 * @param listener
-	 *            listener object
-	 * @return status
-	 */
-	public boolean removeListener(NotificationListener<E> listener) {
-		return listeners.remove(listener);
-	}
-
 	/**
 	 * Add element to the Set, and notifies listener for Add event.
 	 * NotifictionEventType = {@link NotificationEventType#ADD}
@@ -174,8 +169,10 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 	public boolean add(E e) {
 		boolean added = set.add(e);
 		if (added) {
-			NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
-		} else {
+			if (listeners.accepts(NotificationEventType.ADD)) {
+				NotifierAgent.instance().notify(new AddNotifier<E>(e), listeners, ex);
+			}
+		} else if (listeners.accepts(NotificationEventType.MODIFY)) {
 			NotifierAgent.instance().notify(new ModifyNotifier<E>(e, e), listeners, ex);
 		}
 		return added;
@@ -193,9 +190,11 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 	 */
 	public boolean remove(Object element) {
 		boolean removed = set.remove(element);
-		if (removed) {
+		if (removed && listeners.accepts(NotificationEventType.DELETE)) {
 			try {
 				NotifierAgent.instance().notify(new DeleteNotifier<E>((E) element), listeners, ex);
+			} catch (RejectedExecutionException e) {
+				throw e;
 			} catch (Exception e) {
 			}
 		}
@@ -222,6 +221,11 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 		if (elements == null) {
 			throw new IllegalArgumentException("Can't add null elements to set");
 		}
+		if (!listeners.accepts(NotificationEventType.ADD) && !listeners.accepts(NotificationEventType.MODIFY)) {
+			// nothing to capture for event, always added or modified
+			set.addAll(elements);
+			return !elements.isEmpty();
+		}
 		Collection<E> modified = new HashSet<>();
 		Collection<E> added = new HashSet<>();
 		boolean changed = false;
@@ -236,8 +240,10 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 			changed = true;
 		}
 		if (added.size() > 0) {
-			NotifierAgent.instance().notify(new AddMultiNotifier<E>(added), listeners, ex);
-		} else {
+			if (listeners.accepts(NotificationEventType.ADD)) {
+				NotifierAgent.instance().notify(new AddMultiNotifier<E>(added), listeners, ex);
+			}
+		} else if (listeners.accepts(NotificationEventType.MODIFY)) {
 			// generate multiple modify event, otherwise need to map which is
 			// old and which is new for each element
 			for (E modify : modified) {
@@ -259,23 +265,7 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 	 * 
 	 */
 	public boolean removeAll(Collection<?> elements) {
-		Collection<E> removedElements = new ArrayList<>();
-		if (REMOVEALL_METHOD_COPY_ENABLED) {
-			for (E e : set) {
-				if (elements.contains(e)) {
-					removedElements.add(e);
-				}
-			}
-		}
-		boolean removed = set.removeAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
-
-		return removed;
+		return bulkRemove(set, elements, false, REMOVEALL_METHOD_COPY_ENABLED);
 	}
 
 	/**
@@ -291,31 +281,32 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 	 * 
 	 */
 	public boolean retainAll(Collection<?> elements) {
-		Collection<E> removedElements = new ArrayList<>();
-		if (RETAIN_METHOD_COPY_ENABLED) {
-
-			Collection<E> containedElements = new ArrayList<>();
+		return bulkRemove(set, elements, true, RETAIN_METHOD_COPY_ENABLED);
+	}
 
-			for (E e : set) {
-				if (elements.contains(e)) {
-					containedElements.add(e);
-				}
-			}
-			for (E e : set) {
-				if (!containedElements.contains(e)) {
-					removedElements.add(e);
-				}
-			}
-		}
-		boolean removed = set.retainAll(elements);
-		if (removed) {
-			try {
-				NotifierAgent.instance().notify(new DeleteMultiNotifier<E>(removedElements), listeners, ex);
-			} catch (Exception e) {
-			}
-		}
+	/**
+	 * Removes elements matching filter, and notifies listener for Delete multi
+	 * event NotifictionEventType = {@link NotificationEventType#DELETE}
+	 * {@link Set#removeIf(Predicate)}. Uses underlying set's removeIf, one
+	 * event per call
+	 * 
+	 * @param filter
+	 *            elements to remove
+	 * @return status
+	 */
+	@Override
+	public boolean removeIf(Predicate<? super E> filter) {
+		return removeMatching(set, filter, true);
+	}
 
-		return removed;
+	/**
+	 * Performs action on each element, and notifies listener for Read multi
+	 * event NotifictionEventType = {@link NotificationEventType#READ}
+	 * {@link Set#forEach(Consumer)}. One event per call, not per element
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		forEachRead(set, action);
 	}
 
 	/**
@@ -326,12 +317,14 @@ public class NotificationSet<E> extends NotificationCollection<E> implements Set
 	 * instruction, careful in performance apps
 	 */
 	public void clear() {
-		List<E> elements = new ArrayList<>();
-		if (CLEAR_METHOD_COPY_ENABLED) {
-			elements = set.stream().collect(Collectors.toList());
+		List<E> elements = Collections.emptyList();
+		if (CLEAR_METHOD_COPY_ENABLED && listeners.needsElements(NotificationEventType.CLEAR)) {
+			elements = new ArrayList<>(set);
 		}
 		set.clear();
-		NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		if (listeners.accepts(NotificationEventType.CLEAR)) {
+			NotifierAgent.instance().notify(new ClearNotifier<E>(elements), listeners, ex);
+		}
 		return;
 	}
 
@@ -0,0 +1,130 @@
+package libs.java.extension.collections.observable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
+import libs.java.extension.collections.observable.notifier.NotifierAgent;
+import libs.java.extension.collections.observable.notifier.ReadMultiNotifier;
+
+/**
+ * A wrapped spliterator, used by streams of collections. Each split collects
+ * elements it returns and sends one Read multi event when it is exhausted.
+ * Splitting is done by underlying spliterator with its characteristics, so
+ * parallel streams split same as underlying collection. Elements read by a
+ * short circuit operation (e.g. findFirst) which stops before split is
+ * exhausted are not sent.
+ * <br>
+ * Note - with parallel stream, events are sent from fork join worker threads
+ * (when no executor), listeners should be thread safe.
+ * 
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+public class NotificationSpliterator<E> implements Spliterator<E> {
+	private Spliterator<E> root;
+	private ListenerRegistry<E> listeners;
+	private Executor ex;
+	/**
+	 * Elements returned by this split, null when listeners don't need elements
+	 */
+	private List<E> elements;
+	private int count;
+
+	public NotificationSpliterator(Spliterator<E> root, ListenerRegistry<E> listeners, Executor ex) {
+		this.root = root;
+		this.listeners = listeners;
+		this.ex = ex;
+		if (listeners.needsElements(NotificationEventType.READ)) {
+			elements = new ArrayList<>();
+		}
+	}
+
+	@Override
+	public boolean tryAdvance(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}
+		boolean advanced = root.tryAdvance(e -> {
+			read(e);
+			action.accept(e);
+		});
+		if (!advanced) {
+			publish();
+		}
+		return advanced;
+	}
+
+	@Override
+	public void forEachRemaining(Consumer<? super E> action) {
+		if (action == null) {
+			throw new NullPointerException();
+		}
+		root.forEachRemaining(e -> {
+			read(e);
+			action.accept(e);
+		});
+		publish();
+	}
+
+	/**
+	 * Splits underlying spliterator, split part collects its own reads
+	 */
+	@Override
+	public Spliterator<E> trySplit() {
+		Spliterator<E> split = root.trySplit();
+		return split == null ? null : new NotificationSpliterator<>(split, listeners, ex);
+	}
+
+	@Override
+	public long estimateSize() {
+		return root.estimateSize();
+	}
+
+	@Override
+	public long getExactSizeIfKnown() {
+		return root.getExactSizeIfKnown();
+	}
+
+	@Override
+	public int characteristics() {
+		return root.characteristics();
+	}
+
+	@Override
+	public Comparator<? super E> getComparator() {
+		return root.getComparator();
+	}
+
+	private void read(E element) {
+		count++;
+		if (elements != null) {
+			elements.add(element);
+		}
+	}
+
+	/**
+	 * Sends Read multi event of this split, if anything read
+	 */
+	private void publish() {
+		if (count == 0) {
+			return;
+		}
+		List<E> read = elements == null ? Collections.<E>emptyList() : elements;
+		if (elements != null) {
+			elements = new ArrayList<>();
+		}
+		count = 0;
+		if (listeners.accepts(NotificationEventType.READ)) {
+			NotifierAgent.instance().notify(new ReadMultiNotifier<E>(read), listeners, ex);
+		}
+	}
+
+}
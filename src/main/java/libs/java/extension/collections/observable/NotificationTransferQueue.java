@@ -0,0 +1,141 @@
+package libs.java.extension.collections.observable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TransferQueue;
+
+/**
+ * Observable {@link TransferQueue}, see {@link NotificationBlockingQueue}.
+ * Transferred element notifies Add event before hand off, so before Delete
+ * event of consumer. If element is then not transferred (timeout, interrupt),
+ * a Delete event of element is notified. tryTransfer without timeout notifies
+ * nothing if no consumer is waiting. Usage <br>
+ * TransferQueue<String> a = new NotificationTransferQueue<>(new
+ * LinkedTransferQueue<>()); a.transfer("ABC");
+ *
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+public class NotificationTransferQueue<E> extends NotificationBlockingQueue<E> implements TransferQueue<E> {
+
+	/**
+	 * Constructor with underlying queue, no executor, so all notification will
+	 * be part of queue operation thread
+	 *
+	 * @param queue
+	 *            underlying queue
+	 */
+	public NotificationTransferQueue(TransferQueue<E> queue) {
+		this(queue, null);
+	}
+
+	/**
+	 * Constructor with queue and executor, all notification to listeners will
+	 * be sent using this executor
+	 *
+	 * @param queue
+	 *            underlying queue
+	 * @param ex
+	 *            executor
+	 */
+	public NotificationTransferQueue(TransferQueue<E> queue, Executor ex) {
+		this(queue, ex, null);
+	}
+
+	/**
+	 * Constructor with queue, executor and listener
+	 *
+	 * @param queue
+	 *            underlying queue
+	 * @param ex
+	 *            executor
+	 * @param listener
+	 *            listener for event
+	 * @throws IllegalArgumentException
+	 *             if queue is null
+	 */
+	public NotificationTransferQueue(TransferQueue<E> queue, Executor ex, NotificationListener<E> listener) {
+		super(queue, ex, listener);
+	}
+
+	private TransferQueue<E> transferQueue() {
+		return (TransferQueue<E>) getQueue();
+	}
+
+	/**
+	 * Transfers element if a consumer is waiting, notifies Add event if a
+	 * consumer is waiting (and Delete event if it is gone before hand off)
+	 */
+	@Override
+	public boolean tryTransfer(E e) {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		if (!transferQueue().hasWaitingConsumer()) {
+			return false;
+		}
+		notifyAdded(e);
+		boolean transferred = false;
+		try {
+			transferred = transferQueue().tryTransfer(e);
+		} finally {
+			if (!transferred) {
+				notifyDeleted(e);
+			}
+		}
+		return transferred;
+	}
+
+	/**
+	 * Notifies Add event, then transfers element, waiting for consumer.
+	 * Notifies Delete event if interrupted before transfer.
+	 */
+	@Override
+	public void transfer(E e) throws InterruptedException {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		notifyAdded(e);
+		boolean transferred = false;
+		try {
+			transferQueue().transfer(e);
+			transferred = true;
+		} finally {
+			if (!transferred) {
+				notifyDeleted(e);
+			}
+		}
+	}
+
+	/**
+	 * Notifies Add event, then transfers element, waiting up to timeout for
+	 * consumer. Notifies Delete event if not transferred.
+	 */
+	@Override
+	public boolean tryTransfer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+		if (e == null) {
+			throw new NullPointerException();
+		}
+		notifyAdded(e);
+		boolean transferred = false;
+		try {
+			transferred = transferQueue().tryTransfer(e, timeout, unit);
+		} finally {
+			if (!transferred) {
+				notifyDeleted(e);
+			}
+		}
+		return transferred;
+	}
+
+	@Override
+	public boolean hasWaitingConsumer() {
+		return transferQueue().hasWaitingConsumer();
+	}
+
+	@Override
+	public int getWaitingConsumerCount() {
+		return transferQueue().getWaitingConsumerCount();
+	}
+}
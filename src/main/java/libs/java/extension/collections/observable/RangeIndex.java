@@ -0,0 +1,345 @@
+package libs.java.extension.collections.observable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Index of values registered for key ranges (centered interval tree). Finding
+ * values of ranges containing a key takes O(log n + k) for n ranges and k
+ * matches. Tree is immutable and rebuilt on each add/remove of a range, so
+ * lookups read it without lock, add/remove (expected to be rare) are
+ * synchronized.
+ *
+ * @author Kuldeep
+ *
+ * @param <K>
+ *            key
+ * @param <T>
+ *            value of range
+ */
+final class RangeIndex<K, T> {
+
+	private final Comparator<? super K> comparator;
+	/**
+	 * Registered ranges, guarded by this
+	 */
+	private final List<Entry<K, T>> entries = new ArrayList<>();
+	private volatile Node<K, T> root;
+	private volatile List<T> values = Collections.emptyList();
+
+	@SuppressWarnings("unchecked")
+	RangeIndex(Comparator<? super K> comparator) {
+		this.comparator = comparator != null ? comparator : (Comparator<? super K>) Comparator.naturalOrder();
+	}
+
+	/**
+	 * Range of keys, a side is unbounded if not bounded
+	 */
+	static final class Range<K> {
+		final K low;
+		final boolean lowBounded;
+		final boolean lowInclusive;
+		final K high;
+		final boolean highBounded;
+		final boolean highInclusive;
+
+		Range(K low, boolean lowBounded, boolean lowInclusive, K high, boolean highBounded, boolean highInclusive) {
+			this.low = low;
+			this.lowBounded = lowBounded;
+			this.lowInclusive = lowInclusive;
+			this.high = high;
+			this.highBounded = highBounded;
+			this.highInclusive = highInclusive;
+		}
+
+		static <K> Range<K> all() {
+			return new Range<>(null, false, false, null, false, false);
+		}
+
+		@Override
+		public String toString() {
+			return (lowBounded ? (lowInclusive ? "[" : "(") + low : "(-") + ", "
+					+ (highBounded ? high + (highInclusive ? "]" : ")") : "+)");
+		}
+	}
+
+	private static final class Entry<K, T> {
+		final Range<K> range;
+		final T value;
+
+		Entry(Range<K> range, T value) {
+			this.range = range;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Node of tree, holds ranges containing center, sorted by low and by high.
+	 * Node without center (ranges without bounds, or ranges which can't be
+	 * split) is checked linearly.
+	 */
+	private static final class Node<K, T> {
+		final K center;
+		final boolean centered;
+		final Entry<K, T>[] byLow;
+		final Entry<K, T>[] byHigh;
+		final Node<K, T> left;
+		final Node<K, T> right;
+
+		Node(K center, boolean centered, Entry<K, T>[] byLow, Entry<K, T>[] byHigh, Node<K, T> left,
+				Node<K, T> right) {
+			this.center = center;
+			this.centered = centered;
+			this.byLow = byLow;
+			this.byHigh = byHigh;
+			this.left = left;
+			this.right = right;
+		}
+	}
+
+	/**
+	 * Compares keys in order of index
+	 */
+	int compare(K a, K b) {
+		return comparator.compare(a, b);
+	}
+
+	/**
+	 * @return true if range has no key
+	 */
+	boolean isEmpty(Range<K> range) {
+		if (!range.lowBounded || !range.highBounded) {
+			return false;
+		}
+		int c = comparator.compare(range.low, range.high);
+		return c > 0 || (c == 0 && !(range.lowInclusive && range.highInclusive));
+	}
+
+	/**
+	 * @return true if low bound of range is below or at key
+	 */
+	boolean admitsLow(Range<K> range, K key) {
+		if (!range.lowBounded) {
+			return true;
+		}
+		int c = comparator.compare(range.low, key);
+		return c < 0 || (c == 0 && range.lowInclusive);
+	}
+
+	/**
+	 * @return true if high bound of range is above or at key
+	 */
+	boolean admitsHigh(Range<K> range, K key) {
+		if (!range.highBounded) {
+			return true;
+		}
+		int c = comparator.compare(key, range.high);
+		return c < 0 || (c == 0 && range.highInclusive);
+	}
+
+	boolean contains(Range<K> range, K key) {
+		return admitsLow(range, key) && admitsHigh(range, key);
+	}
+
+	private boolean same(Range<K> a, Range<K> b) {
+		return a.lowBounded == b.lowBounded && a.highBounded == b.highBounded
+				&& (!a.lowBounded || (a.lowInclusive == b.lowInclusive && comparator.compare(a.low, b.low) == 0))
+				&& (!a.highBounded || (a.highInclusive == b.highInclusive && comparator.compare(a.high, b.high) == 0));
+	}
+
+	boolean isEmpty() {
+		return root == null;
+	}
+
+	/**
+	 * @return values of all ranges
+	 */
+	List<T> values() {
+		return values;
+	}
+
+	/**
+	 * @return value of range, null if range is not registered
+	 */
+	synchronized T get(Range<K> range) {
+		for (Entry<K, T> entry : entries) {
+			if (same(entry.range, range)) {
+				return entry.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Registers value of range, replacing previous value of range
+	 */
+	synchronized void put(Range<K> range, T value) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (same(entries.get(i).range, range)) {
+				entries.set(i, new Entry<>(range, value));
+				rebuild();
+				return;
+			}
+		}
+		entries.add(new Entry<>(range, value));
+		rebuild();
+	}
+
+	/**
+	 * Removes range
+	 *
+	 * @return value of range, null if range is not registered
+	 */
+	synchronized T remove(Range<K> range) {
+		for (int i = 0; i < entries.size(); i++) {
+			if (same(entries.get(i).range, range)) {
+				T value = entries.remove(i).value;
+				rebuild();
+				return value;
+			}
+		}
+		return null;
+	}
+
+	private void rebuild() {
+		List<Entry<K, T>> live = new ArrayList<>(entries.size());
+		List<T> all = new ArrayList<>(entries.size());
+		for (Entry<K, T> entry : entries) {
+			all.add(entry.value);
+			if (!isEmpty(entry.range)) {
+				live.add(entry);
+			}
+		}
+		root = build(live);
+		values = all.isEmpty() ? Collections.<T> emptyList() : Collections.unmodifiableList(all);
+	}
+
+	private Node<K, T> build(List<Entry<K, T>> list) {
+		if (list.isEmpty()) {
+			return null;
+		}
+		List<K> points = new ArrayList<>(list.size() * 2);
+		for (Entry<K, T> entry : list) {
+			if (entry.range.lowBounded) {
+				points.add(entry.range.low);
+			}
+			if (entry.range.highBounded) {
+				points.add(entry.range.high);
+			}
+		}
+		if (!points.isEmpty()) {
+			points.sort(comparator);
+			List<K> centers = Arrays.asList(points.get((points.size() - 1) / 2), points.get(points.size() / 2));
+			for (K center : centers) {
+				List<Entry<K, T>> middle = new ArrayList<>();
+				List<Entry<K, T>> left = new ArrayList<>();
+				List<Entry<K, T>> right = new ArrayList<>();
+				for (Entry<K, T> entry : list) {
+					if (contains(entry.range, center)) {
+						middle.add(entry);
+					} else if (!admitsHigh(entry.range, center)) {
+						left.add(entry);
+					} else {
+						right.add(entry);
+					}
+				}
+				if (!middle.isEmpty() || (!left.isEmpty() && !right.isEmpty())) {
+					Entry<K, T>[] byLow = toArray(middle);
+					Entry<K, T>[] byHigh = byLow.clone();
+					Arrays.sort(byLow, this::compareLow);
+					Arrays.sort(byHigh, this::compareHigh);
+					return new Node<>(center, true, byLow, byHigh, build(left), build(right));
+				}
+			}
+		}
+		// no bound or no split possible, checked linearly
+		Entry<K, T>[] linear = toArray(list);
+		return new Node<>(null, false, linear, linear, null, null);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, T> Entry<K, T>[] toArray(List<Entry<K, T>> list) {
+		return list.toArray((Entry<K, T>[]) new Entry<?, ?>[list.size()]);
+	}
+
+	/**
+	 * Orders by low bound, lowest (unbounded, then inclusive) first
+	 */
+	private int compareLow(Entry<K, T> a, Entry<K, T> b) {
+		if (!a.range.lowBounded || !b.range.lowBounded) {
+			return Boolean.compare(a.range.lowBounded, b.range.lowBounded);
+		}
+		int c = comparator.compare(a.range.low, b.range.low);
+		return c != 0 ? c : Boolean.compare(b.range.lowInclusive, a.range.lowInclusive);
+	}
+
+	/**
+	 * Orders by high bound, highest (unbounded, then inclusive) first
+	 */
+	private int compareHigh(Entry<K, T> a, Entry<K, T> b) {
+		if (!a.range.highBounded || !b.range.highBounded) {
+			return Boolean.compare(a.range.highBounded, b.range.highBounded);
+		}
+		int c = comparator.compare(b.range.high, a.range.high);
+		return c != 0 ? c : Boolean.compare(b.range.highInclusive, a.range.highInclusive);
+	}
+
+	/**
+	 * Finds values of ranges containing key
+	 *
+	 * @param key
+	 *            key
+	 * @return values, empty list if none
+	 */
+	List<T> find(K key) {
+		List<T> found = null;
+		Node<K, T> node = root;
+		while (node != null) {
+			if (!node.centered) {
+				for (Entry<K, T> entry : node.byLow) {
+					if (contains(entry.range, key)) {
+						found = add(found, entry.value);
+					}
+				}
+				break;
+			}
+			int c = comparator.compare(key, node.center);
+			if (c < 0) {
+				// ranges of node end after key, check start only
+				for (Entry<K, T> entry : node.byLow) {
+					if (!admitsLow(entry.range, key)) {
+						break;
+					}
+					found = add(found, entry.value);
+				}
+				node = node.left;
+			} else if (c > 0) {
+				for (Entry<K, T> entry : node.byHigh) {
+					if (!admitsHigh(entry.range, key)) {
+						break;
+					}
+					found = add(found, entry.value);
+				}
+				node = node.right;
+			} else {
+				for (Entry<K, T> entry : node.byLow) {
+					found = add(found, entry.value);
+				}
+				break;
+			}
+		}
+		return found == null ? Collections.<T> emptyList() : found;
+	}
+
+	private static <T> List<T> add(List<T> found, T value) {
+		if (found == null) {
+			found = new ArrayList<>(2);
+		}
+		found.add(value);
+		return found;
+	}
+
+}
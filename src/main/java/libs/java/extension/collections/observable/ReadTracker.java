@@ -0,0 +1,114 @@
+package libs.java.extension.collections.observable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry;
+import libs.java.extension.collections.observable.notifier.NotifierAgent;
+import libs.java.extension.collections.observable.notifier.ReadMultiNotifier;
+import libs.java.extension.collections.observable.notifier.ReadNotifier;
+import libs.java.extension.collections.observable.notifier.ReadSampler;
+
+/**
+ * Generates read events of an iterator. With chunk size 1, a Read event is
+ * sent per element, otherwise returned elements are collected and a Read
+ * multi event is sent every chunk size elements and on {@link #flush()}.
+ * Sampler, if any, applies to Read events of single element only. Not thread
+ * safe, used by single iterator.
+ * 
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+class ReadTracker<E> {
+	private final ListenerRegistry<E> listeners;
+	private final Executor ex;
+	private final int chunkSize;
+	private final ReadSampler sampler;
+	/**
+	 * Elements of current chunk, null when listeners don't need elements
+	 */
+	private List<E> chunk;
+	private int pending;
+
+	ReadTracker(ListenerRegistry<E> listeners, Executor ex, int chunkSize, ReadSampler sampler) {
+		this.listeners = listeners;
+		this.ex = ex;
+		this.chunkSize = chunkSize;
+		this.sampler = sampler;
+	}
+
+	/**
+	 * Sends Read event of single element, if sampled by sampler (every read
+	 * when sampler is null)
+	 */
+	static <E> void notifyRead(E element, ListenerRegistry<E> listeners, Executor ex, ReadSampler sampler) {
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			return;
+		}
+		double weight = 1;
+		if (sampler != null) {
+			weight = sampler.sample();
+			if (weight == 0) {
+				return;
+			}
+		}
+		NotifierAgent.instance().notify(new ReadNotifier<E>(element, weight), listeners, ex);
+	}
+
+	/**
+	 * Records read of element
+	 */
+	void read(E element) {
+		if (chunkSize <= 1) {
+			notifyRead(element, listeners, ex, sampler);
+			return;
+		}
+		if (!listeners.accepts(NotificationEventType.READ)) {
+			return;
+		}
+		if (listeners.needsElements(NotificationEventType.READ)) {
+			if (chunk == null) {
+				chunk = new ArrayList<>(chunkSize);
+			}
+			chunk.add(element);
+		}
+		if (++pending >= chunkSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Records read of elements, sent as single Read multi event after pending
+	 * chunk
+	 * 
+	 * @param elements
+	 *            elements read, empty if listeners don't need elements
+	 * @param count
+	 *            number of elements read
+	 */
+	void readAll(Collection<E> elements, int count) {
+		flush();
+		if (count > 0 && listeners.accepts(NotificationEventType.READ)) {
+			NotifierAgent.instance().notify(new ReadMultiNotifier<E>(elements), listeners, ex);
+		}
+	}
+
+	/**
+	 * Sends pending chunk, if any
+	 */
+	void flush() {
+		if (pending == 0) {
+			return;
+		}
+		Collection<E> elements = chunk == null ? Collections.<E>emptyList() : chunk;
+		chunk = null;
+		pending = 0;
+		NotifierAgent.instance().notify(new ReadMultiNotifier<E>(elements), listeners, ex);
+	}
+
+}
@@ -1,6 +1,5 @@
 package libs.java.extension.collections.observable.notifier;
 import libs.java.extension.collections.observable.NotificationEvent;
-import libs.java.extension.collections.observable.NotificationListener;
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 
 /**
@@ -18,9 +17,8 @@ public class AddNotifier<E> implements Notifier<E> {
 	}
 
 	@Override
-	public void notify(NotificationListener<E> listener) {
-		NotificationEvent<E> event = new NotificationEvent<>(e, NotificationEventType.ADD);
-		listener.onEvent(event);
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<>(e, NotificationEventType.ADD);
 	}
 
 }
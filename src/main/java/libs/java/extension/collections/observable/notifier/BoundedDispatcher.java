@@ -0,0 +1,385 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import libs.java.extension.collections.observable.KeyValue;
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Asynchronous dispatcher with bounded number of pending events. Events are
+ * delivered in order, one drain task at a time on given executor. When
+ * capacity is reached, {@link OverflowPolicy} decides what happens to new
+ * event, so a slow listener can't grow memory without limit.
+ * <br>
+ * Works with every collection which takes executor, e.g.
+ * 
+ * <pre>
+ * Map&lt;String, Double&gt; prices = new NotificationMap&lt;&gt;(new HashMap&lt;&gt;(),
+ * 		new BoundedDispatcher(pool, 10000, OverflowPolicy.DROP_OLDEST));
+ * </pre>
+ * 
+ * @author Kuldeep
+ *
+ */
+public class BoundedDispatcher implements NotificationDispatcher {
+
+	public enum OverflowPolicy {
+		/**
+		 * Mutating thread waits till there is space. Listener must not mutate
+		 * the same collection, it may wait forever
+		 */
+		BLOCK,
+		/**
+		 * New event is dropped
+		 */
+		DROP_NEWEST,
+		/**
+		 * Oldest pending event is dropped
+		 */
+		DROP_OLDEST,
+		/**
+		 * New event is merged with pending event of same element (key for
+		 * map) and queued in its place in order, same rules as
+		 * {@link ConflatingDispatcher} (ADD then DELETE cancel out), oldest
+		 * event is dropped if there is none. Only events of sets and maps (see
+		 * {@link Snapshot#isDistinct()}) are conflated, multi events never
+		 */
+		CONFLATE,
+		/**
+		 * {@link RejectedExecutionException} is thrown to mutating thread, after
+		 * collection is already modified
+		 */
+		FAIL_FAST;
+	}
+
+	private static final class Entry {
+		NotificationEvent<?> event;
+		Snapshot<?> listeners;
+		Runnable task;
+		ConflationKey key;
+		Entry previous;
+		Entry next;
+	}
+
+	private static final class ConflationKey {
+		private final Snapshot<?> listeners;
+		private final Object element;
+
+		ConflationKey(Snapshot<?> listeners, Object element) {
+			this.listeners = listeners;
+			this.element = element;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(listeners) + (element == null ? 0 : element.hashCode());
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ConflationKey)) {
+				return false;
+			}
+			ConflationKey other = (ConflationKey) obj;
+			return listeners == other.listeners
+					&& (element == null ? other.element == null : element.equals(other.element));
+		}
+	}
+
+	private final Executor executor;
+	private final int capacity;
+	private final OverflowPolicy policy;
+	private final int maxBatch;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition notFull = lock.newCondition();
+	/**
+	 * Pending entries, linked so conflated entry is unlinked in constant time
+	 */
+	private Entry head;
+	private Entry tail;
+	private int size;
+	private final Map<ConflationKey, Entry> conflatable = new HashMap<>();
+	private boolean scheduled;
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong blocked = new AtomicLong();
+	private final AtomicLong conflated = new AtomicLong();
+	private final AtomicLong rejected = new AtomicLong();
+
+	private final Runnable drain = new Runnable() {
+		public void run() {
+			drain();
+		}
+	};
+
+	public BoundedDispatcher(Executor executor, int capacity, OverflowPolicy policy) {
+		this(executor, capacity, policy, SerialExecutor.DEFAULT_MAX_BATCH);
+	}
+
+	/**
+	 * @param executor
+	 *            executor which runs delivery
+	 * @param capacity
+	 *            max pending events
+	 * @param policy
+	 *            what to do when capacity is reached
+	 * @param maxBatch
+	 *            max events delivered in one executor task
+	 */
+	public BoundedDispatcher(Executor executor, int capacity, OverflowPolicy policy, int maxBatch) {
+		if (executor == null || policy == null) {
+			throw new IllegalArgumentException("Passed executor and policy can't be null");
+		}
+		if (capacity <= 0 || maxBatch <= 0) {
+			throw new IllegalArgumentException("Capacity and max batch should be positive");
+		}
+		this.executor = executor;
+		this.capacity = capacity;
+		this.policy = policy;
+		this.maxBatch = maxBatch;
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		Entry entry = new Entry();
+		entry.event = event;
+		entry.listeners = listeners;
+		if (policy == OverflowPolicy.CONFLATE && listeners.isDistinct() && !event.isMulti()
+				&& (event.isAdd() || event.isModify() || event.isDelete())) {
+			Object element = event.getElement();
+			if (element instanceof KeyValue) {
+				element = ((KeyValue<?, ?>) element).getKey();
+			}
+			entry.key = new ConflationKey(listeners, element);
+		}
+		enqueue(entry);
+	}
+
+	/**
+	 * Runs task in order with events, task is never conflated
+	 */
+	@Override
+	public void execute(Runnable task) {
+		Entry entry = new Entry();
+		entry.task = task;
+		enqueue(entry);
+	}
+
+	public OverflowPolicy getPolicy() {
+		return policy;
+	}
+
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return events waiting for delivery
+	 */
+	public int pending() {
+		lock.lock();
+		try {
+			return size;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return events dropped by {@link OverflowPolicy#DROP_NEWEST},
+	 *         {@link OverflowPolicy#DROP_OLDEST} or
+	 *         {@link OverflowPolicy#CONFLATE} (when nothing to conflate with)
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return times mutating thread had to wait, {@link OverflowPolicy#BLOCK}
+	 */
+	public long getBlockedCount() {
+		return blocked.get();
+	}
+
+	/**
+	 * @return events merged with a pending event,
+	 *         {@link OverflowPolicy#CONFLATE}
+	 */
+	public long getConflatedCount() {
+		return conflated.get();
+	}
+
+	/**
+	 * @return events rejected by {@link OverflowPolicy#FAIL_FAST}
+	 */
+	public long getRejectedCount() {
+		return rejected.get();
+	}
+
+	private void enqueue(Entry entry) {
+		boolean schedule = false;
+		lock.lock();
+		try {
+			if (size >= capacity) {
+				switch (policy) {
+				case BLOCK:
+					blocked.incrementAndGet();
+					while (size >= capacity) {
+						notFull.awaitUninterruptibly();
+					}
+					break;
+				case DROP_NEWEST:
+					dropped.incrementAndGet();
+					return;
+				case CONFLATE:
+					Entry same = entry.key == null ? null : conflatable.remove(entry.key);
+					if (same != null) {
+						// merged event takes place of new event, after events it follows
+						unlink(same);
+						conflated.incrementAndGet();
+						entry.event = ConflatingDispatcher.merge(same.event, entry.event);
+						if (entry.event == null) {
+							return;
+						}
+						break;
+					}
+					removeOldest();
+					dropped.incrementAndGet();
+					break;
+				case DROP_OLDEST:
+					removeOldest();
+					dropped.incrementAndGet();
+					break;
+				case FAIL_FAST:
+					rejected.incrementAndGet();
+					throw new RejectedExecutionException("Notification queue is full, capacity " + capacity);
+				}
+			}
+			link(entry);
+			if (entry.key != null) {
+				conflatable.put(entry.key, entry);
+			}
+			if (!scheduled) {
+				scheduled = true;
+				schedule = true;
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (schedule) {
+			submit();
+		}
+	}
+
+	private void removeOldest() {
+		Entry oldest = pollFirst();
+		if (oldest != null && oldest.key != null) {
+			conflatable.remove(oldest.key, oldest);
+		}
+	}
+
+	private void link(Entry entry) {
+		entry.previous = tail;
+		if (tail == null) {
+			head = entry;
+		} else {
+			tail.next = entry;
+		}
+		tail = entry;
+		size++;
+	}
+
+	private void unlink(Entry entry) {
+		if (entry.previous == null) {
+			head = entry.next;
+		} else {
+			entry.previous.next = entry.next;
+		}
+		if (entry.next == null) {
+			tail = entry.previous;
+		} else {
+			entry.next.previous = entry.previous;
+		}
+		entry.previous = null;
+		entry.next = null;
+		size--;
+	}
+
+	private Entry pollFirst() {
+		Entry first = head;
+		if (first != null) {
+			unlink(first);
+		}
+		return first;
+	}
+
+	private void submit() {
+		try {
+			executor.execute(drain);
+		} catch (RuntimeException e) {
+			lock.lock();
+			try {
+				scheduled = false;
+			} finally {
+				lock.unlock();
+			}
+			throw e;
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void drain() {
+		boolean done = false;
+		try {
+			for (int i = 0; i < maxBatch; i++) {
+				Entry entry;
+				lock.lock();
+				try {
+					entry = pollFirst();
+					if (entry == null) {
+						scheduled = false;
+						done = true;
+						return;
+					}
+					if (entry.key != null) {
+						conflatable.remove(entry.key, entry);
+					}
+					notFull.signal();
+				} finally {
+					lock.unlock();
+				}
+				if (entry.task != null) {
+					entry.task.run();
+				} else {
+					((Snapshot) entry.listeners).deliver((NotificationEvent) entry.event);
+				}
+			}
+		} finally {
+			if (!done) {
+				// batch limit reached or listener failed, still scheduled
+				boolean more;
+				lock.lock();
+				try {
+					more = head != null;
+					if (!more) {
+						scheduled = false;
+					}
+				} finally {
+					lock.unlock();
+				}
+				if (more) {
+					submit();
+				}
+			}
+		}
+	}
+
+}
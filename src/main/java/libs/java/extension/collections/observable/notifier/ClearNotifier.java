@@ -2,7 +2,6 @@ package libs.java.extension.collections.observable.notifier;
 import java.util.Collection;
 
 import libs.java.extension.collections.observable.NotificationEvent;
-import libs.java.extension.collections.observable.NotificationListener;
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 
 /**
@@ -21,9 +20,8 @@ public class ClearNotifier<E> implements Notifier<E> {
 	}
 
 	@Override
-	public void notify(NotificationListener<E> listener) {
-		NotificationEvent<E> event = new NotificationEvent<>( elementsDeleted, NotificationEventType.CLEAR);
-		listener.onEvent(event);
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<>(elementsDeleted, NotificationEventType.CLEAR);
 	}
 
 }
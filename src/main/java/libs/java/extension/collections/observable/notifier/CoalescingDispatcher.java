@@ -0,0 +1,326 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Dispatcher which merges consecutive events of same type into one multi
+ * event, e.g. a loop of list.add(e) gives listeners a few ADD multi events
+ * instead of one event per element. Use one dispatcher per collection.
+ * <br>
+ * Events are buffered till max events is reached, max delay passes (when
+ * scheduler is given) or an event of other type comes, so event order is
+ * kept. ADD, DELETE and READ events are merged, MODIFY and CLEAR flush the
+ * buffer and pass as is. Weight of merged event is sum of weights of events
+ * it merges, so multi events without elements (copy disabled) are still
+ * counted. Merged event is sent to downstream executor, or delivered in a
+ * flushing thread when downstream is null.
+ * <br>
+ * Lock of dispatcher is held only to buffer events and swap out flushed
+ * ones, flushed events are forwarded after lock is released by one thread
+ * at a time, in flush order. Listener can mutate the collection, its events
+ * are forwarded after the current one.
+ * 
+ * <pre>
+ * list.setExecutor(new CoalescingDispatcher(1000, 500, scheduler, null));
+ * </pre>
+ * 
+ * @author Kuldeep
+ *
+ */
+public class CoalescingDispatcher implements NotificationDispatcher {
+
+	private final int maxEvents;
+	private final long maxDelayMicros;
+	private final ScheduledExecutorService scheduler;
+	private final Executor downstream;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private NotificationEventType bufferType;
+	private Snapshot<?> bufferListeners;
+	private List<Object> buffer = new ArrayList<>();
+	/**
+	 * Buffered multi events without elements
+	 */
+	private int bufferEmpty;
+	/**
+	 * Sum of weights of buffered events
+	 */
+	private double bufferWeight;
+	/**
+	 * Incremented on each flush, so a timer of already flushed buffer does
+	 * nothing
+	 */
+	private long generation;
+	/**
+	 * Flushed events and tasks, waiting to be forwarded
+	 */
+	private final ArrayDeque<Flushed> flushed = new ArrayDeque<>();
+	/**
+	 * True while a thread forwards flushed events
+	 */
+	private boolean forwarding;
+
+	private static final class Flushed {
+		final NotificationEvent<?> event;
+		final Snapshot<?> listeners;
+		final Runnable task;
+
+		Flushed(NotificationEvent<?> event, Snapshot<?> listeners, Runnable task) {
+			this.event = event;
+			this.listeners = listeners;
+			this.task = task;
+		}
+	}
+
+	/**
+	 * Coalescing by size only, buffer is also flushed on type change and by
+	 * {@link #flush()}
+	 * 
+	 * @param maxEvents
+	 *            max events merged in one event
+	 * @param downstream
+	 *            executor for merged events, null for caller thread
+	 */
+	public CoalescingDispatcher(int maxEvents, Executor downstream) {
+		this(maxEvents, 0, null, downstream);
+	}
+
+	/**
+	 * @param maxEvents
+	 *            max events merged in one event
+	 * @param maxDelayMicros
+	 *            max time first event of buffer waits, used only with
+	 *            scheduler
+	 * @param scheduler
+	 *            scheduler for time based flush, can be null
+	 * @param downstream
+	 *            executor for merged events, null for flushing thread
+	 */
+	public CoalescingDispatcher(int maxEvents, long maxDelayMicros, ScheduledExecutorService scheduler,
+			Executor downstream) {
+		if (maxEvents <= 0) {
+			throw new IllegalArgumentException("Max events should be positive");
+		}
+		if (scheduler != null && maxDelayMicros <= 0) {
+			throw new IllegalArgumentException("Max delay should be positive");
+		}
+		this.maxEvents = maxEvents;
+		this.maxDelayMicros = maxDelayMicros;
+		this.scheduler = scheduler;
+		this.downstream = downstream;
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		NotificationEventType type = event.getType();
+		boolean forward;
+		lock.lock();
+		try {
+			if (buffered() > 0 && (type != bufferType || listeners != bufferListeners)) {
+				flushBuffer();
+			}
+			if (type == NotificationEventType.MODIFY || type == NotificationEventType.CLEAR) {
+				flushed.add(new Flushed(event, listeners, null));
+			} else {
+				if (buffered() == 0) {
+					bufferType = type;
+					bufferListeners = listeners;
+					scheduleFlush();
+				}
+				if (!event.isMulti()) {
+					buffer.add(event.getElement());
+				} else if (event.getElements() == null || event.getElements().isEmpty()) {
+					bufferEmpty++;
+				} else {
+					buffer.addAll(event.getElements());
+				}
+				bufferWeight += event.getWeight();
+				if (buffered() >= maxEvents) {
+					flushBuffer();
+				}
+			}
+			forward = startForwarding();
+		} finally {
+			lock.unlock();
+		}
+		if (forward) {
+			forwardFlushed();
+		}
+	}
+
+	/**
+	 * Flushes buffered events, then runs task on downstream executor
+	 */
+	@Override
+	public void execute(Runnable task) {
+		boolean forward;
+		lock.lock();
+		try {
+			flushBuffer();
+			flushed.add(new Flushed(null, null, task));
+			forward = startForwarding();
+		} finally {
+			lock.unlock();
+		}
+		if (forward) {
+			forwardFlushed();
+		}
+	}
+
+	/**
+	 * Sends buffered events now, e.g. at end of bulk load
+	 */
+	public void flush() {
+		boolean forward;
+		lock.lock();
+		try {
+			flushBuffer();
+			forward = startForwarding();
+		} finally {
+			lock.unlock();
+		}
+		if (forward) {
+			forwardFlushed();
+		}
+	}
+
+	/**
+	 * @return events waiting in buffer
+	 */
+	public int pending() {
+		lock.lock();
+		try {
+			return buffered();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private int buffered() {
+		return buffer.size() + bufferEmpty;
+	}
+
+	private void scheduleFlush() {
+		if (scheduler == null) {
+			return;
+		}
+		long scheduledGeneration = generation;
+		scheduler.schedule(new Runnable() {
+			public void run() {
+				boolean forward = false;
+				lock.lock();
+				try {
+					if (generation == scheduledGeneration) {
+						flushBuffer();
+						forward = startForwarding();
+					}
+				} finally {
+					lock.unlock();
+				}
+				if (forward) {
+					forwardFlushed();
+				}
+			}
+		}, maxDelayMicros, TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * Moves buffer to flushed events as one merged event, under lock
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void flushBuffer() {
+		if (buffered() == 0) {
+			return;
+		}
+		flushed.add(new Flushed(new NotificationEvent(buffer, bufferType, bufferWeight), bufferListeners, null));
+		buffer = new ArrayList<>();
+		bufferEmpty = 0;
+		bufferWeight = 0;
+		bufferListeners = null;
+		bufferType = null;
+		generation++;
+	}
+
+	/**
+	 * Under lock, checks if calling thread should forward flushed events
+	 */
+	private boolean startForwarding() {
+		if (forwarding || flushed.isEmpty()) {
+			return false;
+		}
+		forwarding = true;
+		return true;
+	}
+
+	/**
+	 * Forwards flushed events till none is left, without lock
+	 */
+	private void forwardFlushed() {
+		boolean done = false;
+		try {
+			while (true) {
+				Flushed next;
+				lock.lock();
+				try {
+					next = flushed.poll();
+					if (next == null) {
+						forwarding = false;
+						done = true;
+						return;
+					}
+				} finally {
+					lock.unlock();
+				}
+				if (next.task != null) {
+					forward(next.task);
+				} else {
+					forward(next.event, next.listeners);
+				}
+			}
+		} finally {
+			if (!done) {
+				// listener or downstream failed, next flush forwards the rest
+				lock.lock();
+				try {
+					forwarding = false;
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	private void forward(Runnable task) {
+		if (downstream != null) {
+			downstream.execute(task);
+		} else {
+			task.run();
+		}
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void forward(NotificationEvent event, Snapshot listeners) {
+		if (downstream == null) {
+			listeners.deliver(event);
+		} else if (downstream instanceof NotificationDispatcher) {
+			((NotificationDispatcher) downstream).dispatch(event, listeners);
+		} else {
+			downstream.execute(new Runnable() {
+				public void run() {
+					listeners.deliver(event);
+				}
+			});
+		}
+	}
+
+}
@@ -0,0 +1,303 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+import libs.java.extension.collections.observable.KeyValue;
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Dispatcher which delivers only latest event per key (map key for
+ * {@link KeyValue}, element otherwise), for listeners which care about latest
+ * state e.g. prices. Each listener has pending events held per key, a new
+ * event of the key replaces the pending one, and listener gets pending events
+ * when it is done with previous batch. Memory is bounded by number of dirty
+ * keys, not by event rate.
+ * <br>
+ * Pending ADD followed by MODIFY is kept as ADD with latest value, pending ADD
+ * followed by DELETE is dropped, pending DELETE followed by ADD is MODIFY
+ * from deleted value. Multi and clear events are not conflated, they are
+ * delivered in order with others and events are not merged across them.
+ * Events of sources with duplicates (lists, queues) are not conflated. Tasks
+ * (e.g. map change listener notifications) are run in order on a lane of
+ * their own. Lane of a listener exists only while it has events to deliver.
+ * Use one dispatcher per map.
+ * 
+ * <pre>
+ * Map&lt;String, Double&gt; prices = new NotificationMap&lt;&gt;(new HashMap&lt;&gt;(), new ConflatingDispatcher(pool));
+ * </pre>
+ * 
+ * @author Kuldeep
+ *
+ */
+public class ConflatingDispatcher implements NotificationDispatcher {
+
+	/**
+	 * Owner of lane running tasks
+	 */
+	private static final Object TASKS = new Object();
+
+	private final Executor executor;
+	/**
+	 * Lanes by listener (or {@link #TASKS})
+	 */
+	private final ConcurrentMap<Object, Lane> lanes = new ConcurrentHashMap<>();
+	/**
+	 * Gets or creates lane and counts submitter, under lock of map bin so lane
+	 * can't be removed concurrently
+	 */
+	private final BiFunction<Object, Lane, Lane> acquire = (owner, lane) -> {
+		if (lane == null) {
+			lane = new Lane(owner);
+		}
+		lane.users++;
+		return lane;
+	};
+	/**
+	 * Counts submitter out, removes lane when idle
+	 */
+	private final BiFunction<Object, Lane, Lane> release = (owner,
+			lane) -> --lane.users == 0 && lane.isIdle() ? null : lane;
+	/**
+	 * Removes lane when idle, after its run
+	 */
+	private final BiFunction<Object, Lane, Lane> retire = (owner,
+			lane) -> lane.users == 0 && lane.isIdle() ? null : lane;
+
+	public ConflatingDispatcher(Executor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Passed executor can't be null");
+		}
+		this.executor = executor;
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		NotificationEventType type = event.getType();
+		Object key = listeners.isDistinct() ? key(event) : null;
+		for (int i = 0; i < listeners.size(); i++) {
+			if (listeners.accepts(i, type)) {
+				submit(listeners.listener(i), event, key);
+			}
+		}
+	}
+
+	/**
+	 * Runs task on task lane, in order with other tasks
+	 */
+	@Override
+	public void execute(Runnable task) {
+		submit(TASKS, task, null);
+	}
+
+	/**
+	 * @param listener
+	 *            listener
+	 * @return number of keys (and not conflated events) waiting for given
+	 *         listener
+	 */
+	public int pending(NotificationListener<?> listener) {
+		Lane lane = lanes.get(listener);
+		return lane == null ? 0 : lane.pending();
+	}
+
+	/**
+	 * @return number of lanes, i.e. listeners (and tasks) with pending events
+	 */
+	public int getLaneCount() {
+		return lanes.size();
+	}
+
+	private void submit(Object owner, Object item, Object key) {
+		Lane lane = lanes.compute(owner, acquire);
+		try {
+			lane.submit(item, key);
+		} finally {
+			lanes.computeIfPresent(owner, release);
+		}
+	}
+
+	/**
+	 * @return key of event, null if event is not conflated
+	 */
+	private static Object key(NotificationEvent<?> event) {
+		if (event.isMulti() || event.isClear()) {
+			return null;
+		}
+		Object element = event.getElement();
+		if (element instanceof KeyValue) {
+			return new Key(((KeyValue<?, ?>) element).getKey());
+		}
+		return new Key(element);
+	}
+
+	/**
+	 * Merges pending event with newer event of same element (key for map).
+	 * ADD then MODIFY is ADD of latest value, ADD then DELETE is nothing,
+	 * DELETE then ADD is MODIFY from deleted value, MODIFY then MODIFY keeps
+	 * value before first modify, otherwise newer event wins.
+	 * 
+	 * @return merged event, null if events cancel out
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static NotificationEvent<?> merge(NotificationEvent<?> previous, NotificationEvent<?> event) {
+		if (previous.isAdd()) {
+			if (event.isDelete()) {
+				return null;
+			}
+			if (event.isModify()) {
+				return new NotificationEvent(event.getElement(), NotificationEventType.ADD);
+			}
+		} else if (previous.isDelete() && event.isAdd()) {
+			return new NotificationEvent(event.getElement(), previous.getElement(), NotificationEventType.MODIFY);
+		} else if (previous.isModify() && event.isModify()) {
+			return new NotificationEvent(event.getElement(), previous.getOldElement(), NotificationEventType.MODIFY);
+		}
+		return event;
+	}
+
+	/**
+	 * Key wrapper, so null element has a key
+	 */
+	private static final class Key {
+		private final Object key;
+
+		Key(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode() {
+			return key == null ? 0 : key.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Object other = ((Key) obj).key;
+			return key == null ? other == null : key.equals(other);
+		}
+	}
+
+	/**
+	 * Pending items of a listener (or tasks) in order: events and tasks not
+	 * conflated, and segments of events by key. Events of a key are merged
+	 * only within last segment, so not across other items.
+	 */
+	private final class Lane implements Runnable {
+		private final Object owner;
+		private ArrayDeque<Object> items = new ArrayDeque<>();
+		private LinkedHashMap<Object, NotificationEvent<?>> segment;
+		private boolean scheduled;
+		/**
+		 * Submitters holding lane, guarded by map bin lock (changed only in
+		 * compute)
+		 */
+		private int users;
+
+		Lane(Object owner) {
+			this.owner = owner;
+		}
+
+		synchronized boolean isIdle() {
+			return !scheduled && items.isEmpty();
+		}
+
+		synchronized int pending() {
+			int pending = 0;
+			for (Object item : items) {
+				pending += item instanceof LinkedHashMap ? ((LinkedHashMap<?, ?>) item).size() : 1;
+			}
+			return pending;
+		}
+
+		/**
+		 * @param key
+		 *            key of event, null if item is not conflated
+		 */
+		void submit(Object item, Object key) {
+			boolean schedule = false;
+			synchronized (this) {
+				if (key == null) {
+					items.add(item);
+					segment = null;
+				} else {
+					if (segment == null) {
+						segment = new LinkedHashMap<>();
+						items.add(segment);
+					}
+					// removed and put again, so it moves after events it follows
+					NotificationEvent<?> previous = segment.remove(key);
+					NotificationEvent<?> event = (NotificationEvent<?>) item;
+					NotificationEvent<?> merged = previous == null ? event : merge(previous, event);
+					if (merged != null) {
+						segment.put(key, merged);
+					}
+				}
+				if (!scheduled) {
+					scheduled = true;
+					schedule = true;
+				}
+			}
+			if (schedule) {
+				try {
+					executor.execute(this);
+				} catch (RuntimeException e) {
+					// pending items stay, next submit schedules lane again
+					synchronized (this) {
+						scheduled = false;
+					}
+					throw e;
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				ArrayDeque<Object> batch;
+				synchronized (this) {
+					if (items.isEmpty()) {
+						scheduled = false;
+						break;
+					}
+					batch = items;
+					items = new ArrayDeque<>();
+					segment = null;
+				}
+				for (Object item : batch) {
+					if (item instanceof LinkedHashMap) {
+						for (Object event : ((LinkedHashMap<?, ?>) item).values()) {
+							deliver(event);
+						}
+					} else {
+						deliver(item);
+					}
+				}
+			}
+			lanes.computeIfPresent(owner, retire);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void deliver(Object item) {
+			try {
+				if (item instanceof Runnable) {
+					((Runnable) item).run();
+				} else {
+					((NotificationListener) owner).onEvent((NotificationEvent) item);
+				}
+			} catch (RuntimeException e) {
+			}
+		}
+	}
+
+}
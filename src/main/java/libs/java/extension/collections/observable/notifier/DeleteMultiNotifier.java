@@ -2,7 +2,6 @@ package libs.java.extension.collections.observable.notifier;
 import java.util.Collection;
 
 import libs.java.extension.collections.observable.NotificationEvent;
-import libs.java.extension.collections.observable.NotificationListener;
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 
 /**
@@ -20,9 +19,8 @@ public class DeleteMultiNotifier<E> implements Notifier<E> {
 	}
 
 	@Override
-	public void notify(NotificationListener<E> listener) {
-		NotificationEvent<E> event = new NotificationEvent<>(elements, NotificationEventType.DELETE);
-		listener.onEvent(event);
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<>(elements, NotificationEventType.DELETE);
 	}
 
 }
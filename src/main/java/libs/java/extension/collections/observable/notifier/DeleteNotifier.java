@@ -1,7 +1,6 @@
 package libs.java.extension.collections.observable.notifier;
 
 import libs.java.extension.collections.observable.NotificationEvent;
-import libs.java.extension.collections.observable.NotificationListener;
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 
 /**
@@ -20,9 +19,8 @@ public class DeleteNotifier<E> implements Notifier<E> {
 	}
 
 	@Override
-	public void notify(NotificationListener<E> listener) {
-		NotificationEvent<E> event = new NotificationEvent<>(element, NotificationEventType.DELETE);
-		listener.onEvent(event);
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<>(element, NotificationEventType.DELETE);
 	}
 
 }
@@ -0,0 +1,426 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+/**
+ * Copy-on-write listener registry, used by collections to keep listeners.
+ * Listeners are kept in an immutable {@link Snapshot} which is replaced
+ * atomically on add/remove, so {@link NotifierAgent} reads a consistent
+ * snapshot with single volatile read and never sees concurrent modification.
+ * Add/remove are lock free (compare and set, retried on contention).
+ * <br>
+ * Each listener is registered with interest mask (event types it wants),
+ * registry keeps combined mask of all listeners, so collection can check
+ * {@link #accepts(NotificationEventType)} before creating any event.
+ * <br>
+ * Registry of a collection with distinct elements (set, map keys) is created
+ * with distinct flag, dispatchers use {@link Snapshot#isDistinct()} to know
+ * whether two events of equal element are about the same element.
+ *
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+public class ListenerRegistry<E> {
+
+	/**
+	 * Mask with all event types
+	 */
+	public static final int ALL_TYPES = (1 << NotificationEventType.values().length) - 1;
+
+	private static final Snapshot<?> EMPTY = emptySnapshot(false);
+	private static final Snapshot<?> EMPTY_DISTINCT = emptySnapshot(true);
+
+	@SuppressWarnings("rawtypes")
+	private static final AtomicReferenceFieldUpdater<ListenerRegistry, Snapshot> UPDATER = AtomicReferenceFieldUpdater
+			.newUpdater(ListenerRegistry.class, Snapshot.class, "snapshot");
+
+	/**
+	 * Current snapshot, never modified in place
+	 */
+	private volatile Snapshot<E> snapshot;
+
+	/**
+	 * True if elements of events are distinct, i.e. registry of set or map
+	 */
+	private final boolean distinct;
+
+	public ListenerRegistry() {
+		this(false);
+	}
+
+	/**
+	 * @param distinct
+	 *            true if registry belongs to collection without duplicate
+	 *            elements (set, map)
+	 */
+	public ListenerRegistry(boolean distinct) {
+		this.distinct = distinct;
+		this.snapshot = empty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E> Snapshot<E> emptySnapshot(boolean distinct) {
+		return new Snapshot<>((NotificationListener<E>[]) new NotificationListener<?>[0], new int[0], distinct);
+	}
+
+	/**
+	 * @return shared empty snapshot, holds no listener so any type fits
+	 */
+	@SuppressWarnings("unchecked")
+	private Snapshot<E> empty() {
+		return (Snapshot<E>) (distinct ? EMPTY_DISTINCT : EMPTY);
+	}
+
+	/**
+	 * Converts event types to mask
+	 *
+	 * @param types
+	 *            event types
+	 * @return mask
+	 */
+	public static int mask(EnumSet<NotificationEventType> types) {
+		int mask = 0;
+		for (NotificationEventType type : types) {
+			mask |= bit(type);
+		}
+		return mask;
+	}
+
+	static int bit(NotificationEventType type) {
+		return 1 << type.ordinal();
+	}
+
+	/**
+	 * Adds listener for all event types, same listener object is not added
+	 * twice
+	 *
+	 * @param listener
+	 *            listener object
+	 * @return true if added
+	 */
+	public boolean add(NotificationListener<E> listener) {
+		return add(listener, ALL_TYPES);
+	}
+
+	/**
+	 * Adds listener for given event types. If listener is already registered,
+	 * its event types are replaced
+	 *
+	 * @param listener
+	 *            listener object
+	 * @param types
+	 *            event types listener is interested in
+	 * @return true if added or event types changed
+	 */
+	public boolean add(NotificationListener<E> listener, EnumSet<NotificationEventType> types) {
+		if (types == null) {
+			throw new IllegalArgumentException("Event types can't be null");
+		}
+		return add(listener, mask(types));
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean add(NotificationListener<E> listener, int mask) {
+		if (listener == null) {
+			return false;
+		}
+		while (true) {
+			Snapshot<E> current = snapshot;
+			int index = current.indexOf(listener);
+			Snapshot<E> updated;
+			if (index >= 0) {
+				if (current.masks[index] == mask) {
+					return false;
+				}
+				int[] masks = current.masks.clone();
+				masks[index] = mask;
+				updated = new Snapshot<>(current.listeners, masks, distinct);
+			} else {
+				int length = current.listeners.length;
+				NotificationListener<E>[] listeners = Arrays.copyOf(current.listeners, length + 1);
+				int[] masks = Arrays.copyOf(current.masks, length + 1);
+				listeners[length] = listener;
+				masks[length] = mask;
+				updated = new Snapshot<>(listeners, masks, distinct);
+			}
+			if (UPDATER.compareAndSet(this, current, updated)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Removes listener
+	 *
+	 * @param listener
+	 *            listener object
+	 * @return true if removed
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean remove(NotificationListener<E> listener) {
+		if (listener == null) {
+			return false;
+		}
+		while (true) {
+			Snapshot<E> current = snapshot;
+			int index = current.indexOf(listener);
+			if (index < 0) {
+				return false;
+			}
+			Snapshot<E> updated = empty();
+			int length = current.listeners.length;
+			if (length > 1) {
+				NotificationListener<E>[] listeners = Arrays.copyOf(current.listeners, length - 1);
+				int[] masks = Arrays.copyOf(current.masks, length - 1);
+				System.arraycopy(current.listeners, index + 1, listeners, index, length - index - 1);
+				System.arraycopy(current.masks, index + 1, masks, index, length - index - 1);
+				updated = new Snapshot<>(listeners, masks, distinct);
+			}
+			if (UPDATER.compareAndSet(this, current, updated)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Adds all listeners of a snapshot with their event types, event types of
+	 * a listener already present are combined. Used to notify listeners of
+	 * several registries once.
+	 *
+	 * @param other
+	 *            listeners to add
+	 */
+	public void addAll(Snapshot<E> other) {
+		addAll(Collections.singletonList(other));
+	}
+
+	/**
+	 * Adds all listeners of snapshots with their event types in one pass,
+	 * event types of a listener present more than once are combined
+	 *
+	 * @param others
+	 *            listeners to add
+	 */
+	public void addAll(Collection<Snapshot<E>> others) {
+		while (true) {
+			Snapshot<E> current = snapshot;
+			Snapshot<E> updated = union(current, others, distinct);
+			if (updated == current || UPDATER.compareAndSet(this, current, updated)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Creates registry with listeners of all snapshots, a listener present in
+	 * more than one snapshot is kept once with combined event types
+	 *
+	 * @param snapshots
+	 *            listeners
+	 * @param distinct
+	 *            see {@link #ListenerRegistry(boolean)}
+	 * @return new registry
+	 */
+	public static <E> ListenerRegistry<E> union(Collection<Snapshot<E>> snapshots, boolean distinct) {
+		ListenerRegistry<E> registry = new ListenerRegistry<>(distinct);
+		registry.snapshot = union(registry.snapshot, snapshots, distinct);
+		return registry;
+	}
+
+	/**
+	 * @return snapshot with listeners of base and others, base if nothing
+	 *         changes
+	 */
+	private static <E> Snapshot<E> union(Snapshot<E> base, Collection<Snapshot<E>> others, boolean distinct) {
+		int total = base.listeners.length;
+		Snapshot<E> single = null;
+		int nonEmpty = 0;
+		for (Snapshot<E> other : others) {
+			if (other.listeners.length > 0) {
+				total += other.listeners.length;
+				single = other;
+				nonEmpty++;
+			}
+		}
+		if (nonEmpty == 0) {
+			return base;
+		}
+		if (base.listeners.length == 0 && nonEmpty == 1) {
+			// listeners of a snapshot are already distinct, arrays are shared
+			return new Snapshot<>(single.listeners, single.masks, distinct);
+		}
+		NotificationListener<E>[] listeners = Arrays.copyOf(base.listeners, total);
+		int[] masks = Arrays.copyOf(base.masks, total);
+		Map<NotificationListener<E>, Integer> index = new HashMap<>(total * 2);
+		int size = base.listeners.length;
+		for (int i = 0; i < size; i++) {
+			index.put(listeners[i], i);
+		}
+		boolean changed = false;
+		for (Snapshot<E> other : others) {
+			for (int i = 0; i < other.listeners.length; i++) {
+				Integer at = index.putIfAbsent(other.listeners[i], size);
+				if (at == null) {
+					listeners[size] = other.listeners[i];
+					masks[size++] = other.masks[i];
+					changed = true;
+				} else if ((masks[at] | other.masks[i]) != masks[at]) {
+					masks[at] |= other.masks[i];
+					changed = true;
+				}
+			}
+		}
+		if (!changed) {
+			return base;
+		}
+		if (size < total) {
+			listeners = Arrays.copyOf(listeners, size);
+			masks = Arrays.copyOf(masks, size);
+		}
+		return new Snapshot<>(listeners, masks, distinct);
+	}
+
+	public boolean contains(NotificationListener<E> listener) {
+		return snapshot.indexOf(listener) >= 0;
+	}
+
+	public boolean isEmpty() {
+		return snapshot.listeners.length == 0;
+	}
+
+	public int size() {
+		return snapshot.listeners.length;
+	}
+
+	/**
+	 * Checks if any listener is interested in given event type, used to avoid
+	 * creating events nobody receives
+	 *
+	 * @param type
+	 *            event type
+	 * @return true if at least one listener wants this type
+	 */
+	public boolean accepts(NotificationEventType type) {
+		return (snapshot.mask & bit(type)) != 0;
+	}
+
+	/**
+	 * Checks if any listener interested in given event type needs elements of
+	 * event (see {@link NotificationListener#needsElements()}), used to avoid
+	 * copying elements nobody reads
+	 *
+	 * @param type
+	 *            event type
+	 * @return true if elements should be captured for event
+	 */
+	public boolean needsElements(NotificationEventType type) {
+		return (snapshot.contentMask & bit(type)) != 0;
+	}
+
+	/**
+	 * Returns current listeners snapshot
+	 *
+	 * @return snapshot
+	 */
+	public Snapshot<E> snapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Immutable view of registered listeners at a point of time
+	 *
+	 * @param <E>
+	 */
+	public static final class Snapshot<E> {
+		private final NotificationListener<E>[] listeners;
+		private final int[] masks;
+		private final int mask;
+		/**
+		 * Combined mask of listeners which need event elements
+		 */
+		private final int contentMask;
+		private final boolean distinct;
+
+		Snapshot(NotificationListener<E>[] listeners, int[] masks, boolean distinct) {
+			this.listeners = listeners;
+			this.masks = masks;
+			this.distinct = distinct;
+			int combined = 0;
+			int content = 0;
+			for (int i = 0; i < masks.length; i++) {
+				combined |= masks[i];
+				if (listeners[i].needsElements()) {
+					content |= masks[i];
+				}
+			}
+			this.mask = combined;
+			this.contentMask = content;
+		}
+
+		public int size() {
+			return listeners.length;
+		}
+
+		/**
+		 * @return true if collection of listeners has no duplicate elements, so
+		 *         events of equal element (key for map) are about same element
+		 */
+		public boolean isDistinct() {
+			return distinct;
+		}
+
+		public NotificationListener<E> listener(int index) {
+			return listeners[index];
+		}
+
+		/**
+		 * @return true if listener at index wants given event type
+		 */
+		public boolean accepts(int index, NotificationEventType type) {
+			return (masks[index] & bit(type)) != 0;
+		}
+
+		/**
+		 * @return true if any listener wants given event type
+		 */
+		public boolean accepts(NotificationEventType type) {
+			return (mask & bit(type)) != 0;
+		}
+
+		/**
+		 * Delivers event to interested listeners in calling thread
+		 * 
+		 * @param event
+		 *            event
+		 */
+		public void deliver(NotificationEvent<E> event) {
+			NotificationEventType type = event.getType();
+			for (int i = 0; i < listeners.length; i++) {
+				if ((masks[i] & bit(type)) != 0) {
+					listeners[i].onEvent(event);
+				}
+			}
+		}
+
+		private int indexOf(NotificationListener<?> listener) {
+			for (int i = 0; i < listeners.length; i++) {
+				if (listeners[i].equals(listener)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+}
@@ -0,0 +1,28 @@
+package libs.java.extension.collections.observable.notifier;
+import java.util.Collection;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+/**
+ * Modify event notifier (Multiple elements), old elements are in same order as
+ * new elements
+ * @author Kuldeep
+ *
+ * @param <E>
+ */
+public class ModifyMultiNotifier<E> implements Notifier<E> {
+
+	private Collection<? extends E> elements, oldElements;
+
+	public ModifyMultiNotifier(Collection<? extends E> elements, Collection<? extends E> oldElements) {
+		this.elements = elements;
+		this.oldElements = oldElements;
+	}
+
+	@Override
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<E>(elements, oldElements, NotificationEventType.MODIFY);
+	}
+
+}
@@ -1,10 +1,10 @@
 package libs.java.extension.collections.observable.notifier;
 import libs.java.extension.collections.observable.NotificationEvent;
-import libs.java.extension.collections.observable.NotificationListener;
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 
 /**
- * Modify event notifier
+ * Modify event notifier, event element is new element and old element is
+ * replaced element
  * @author Kuldeep
  *
  * @param <E>
@@ -20,11 +20,8 @@ public class ModifyNotifier<E> implements Notifier<E> {
 	}
 
 	@Override
-	public void notify(NotificationListener<E> listener) {
-		NotificationEvent<E> eventData = new NotificationEvent<>(oldElement, newElement,
-				NotificationEventType.MODIFY);
-		listener.onEvent(eventData);
-
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<>(newElement, oldElement, NotificationEventType.MODIFY);
 	}
 
 }
@@ -0,0 +1,42 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.concurrent.Executor;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Executor which takes over delivery of an event to all listeners, instead of
+ * {@link NotifierAgent} submitting one task per listener. Being an
+ * {@link Executor}, it is set same way as executor, in collection constructor
+ * or setExecutor.
+ * 
+ * @author Kuldeep
+ *
+ */
+public interface NotificationDispatcher extends Executor {
+
+	/**
+	 * Delivers event to listeners of snapshot, which are interested in event
+	 * type (see {@link Snapshot#deliver(NotificationEvent)})
+	 * 
+	 * @param event
+	 *            event, shared by all listeners
+	 * @param listeners
+	 *            listeners at the time of event
+	 */
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners);
+
+	/**
+	 * Runs task in order with events of given key (e.g. map change listener
+	 * task of a key), by default same as {@link #execute(Runnable)}
+	 * 
+	 * @param key
+	 *            key the task is about
+	 * @param task
+	 *            task
+	 */
+	public default void execute(Object key, Runnable task) {
+		execute(task);
+	}
+}
@@ -1,5 +1,6 @@
 package libs.java.extension.collections.observable.notifier;
 
+import libs.java.extension.collections.observable.NotificationEvent;
 import libs.java.extension.collections.observable.NotificationListener;
 
 /**
@@ -12,5 +13,15 @@ import libs.java.extension.collections.observable.NotificationListener;
  */
 public interface Notifier<E> {
 
-	public void notify(NotificationListener<E> listeners);
+	/**
+	 * Creates event for this notification. Event is immutable, so
+	 * {@link NotifierAgent} creates it once and shares with all listeners
+	 * 
+	 * @return event
+	 */
+	public NotificationEvent<E> createEvent();
+
+	public default void notify(NotificationListener<E> listener) {
+		listener.onEvent(createEvent());
+	}
 }
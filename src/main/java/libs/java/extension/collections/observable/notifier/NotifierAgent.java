@@ -1,13 +1,19 @@
 package libs.java.extension.collections.observable.notifier;
 
-import java.util.List;
 import java.util.concurrent.Executor;
 
+import libs.java.extension.collections.observable.NotificationEvent;
 import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
 
 /**
- * Agent, which propogates event to listener using different notifier
- * 
+ * Agent, which propogates event to listener using different notifier. Without
+ * executor, listeners are notified in caller thread. With executor, one task
+ * per listener is submitted (no ordering guarantee on a thread pool), unless
+ * executor is a {@link NotificationDispatcher} which then delivers the event
+ * itself (e.g. {@link OrderedDispatcher} for ordered delivery).
+ *
  * @author Kuldeep
  *
  */
@@ -23,21 +29,67 @@ public class NotifierAgent {
 		return agent;
 	}
 
-	public <E> void notify(Notifier<E> notifier, List<NotificationListener<E>> listeners, Executor ex) {
-		if (listeners != null) {
-			for (NotificationListener<E> listener : listeners) {
-				if (ex != null) {
-					ex.execute(new Runnable() {
-						public void run() {
-							notifier.notify(listener);
-						}
-					});
-				} else {
-					notifier.notify(listener);
+	/**
+	 * Notifies registered listeners. Listener snapshot is read once, so
+	 * listener add/remove during notification doesn't affect this
+	 * notification. Event is created once and shared by all listeners, nothing
+	 * is created when no listener is interested in event type.
+	 */
+	public <E> void notify(Notifier<E> notifier, ListenerRegistry<E> listeners, Executor ex) {
+		if (listeners == null) {
+			return;
+		}
+		Snapshot<E> snapshot = listeners.snapshot();
+		if (snapshot.size() == 0) {
+			return;
+		}
+		dispatch(notifier.createEvent(), snapshot, ex);
+	}
+
+	/**
+	 * Notifies two listener groups (e.g. map listeners and listeners of the
+	 * changed key) with same event. A listener present in both groups receives
+	 * event twice.
+	 */
+	public <E> void notify(Notifier<E> notifier, ListenerRegistry<E> listeners, ListenerRegistry<E> otherListeners,
+			Executor ex) {
+		if (otherListeners == null) {
+			notify(notifier, listeners, ex);
+			return;
+		}
+		Snapshot<E> snapshot = listeners.snapshot();
+		Snapshot<E> otherSnapshot = otherListeners.snapshot();
+		if (snapshot.size() == 0 && otherSnapshot.size() == 0) {
+			return;
+		}
+		NotificationEvent<E> event = notifier.createEvent();
+		if (snapshot.size() > 0) {
+			dispatch(event, snapshot, ex);
+		}
+		if (otherSnapshot.size() > 0) {
+			dispatch(event, otherSnapshot, ex);
+		}
+	}
+
+	private <E> void dispatch(NotificationEvent<E> event, Snapshot<E> snapshot, Executor ex) {
+		if (ex == null) {
+			snapshot.deliver(event);
+		} else if (ex instanceof NotificationDispatcher) {
+			((NotificationDispatcher) ex).dispatch(event, snapshot);
+		} else {
+			NotificationEventType type = event.getType();
+			for (int i = 0; i < snapshot.size(); i++) {
+				if (!snapshot.accepts(i, type)) {
+					continue;
 				}
+				NotificationListener<E> listener = snapshot.listener(i);
+				ex.execute(new Runnable() {
+					public void run() {
+						listener.onEvent(event);
+					}
+				});
 			}
 		}
-
 	}
 
 }
@@ -0,0 +1,164 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Asynchronous dispatcher which keeps event order. Events are delivered on
+ * {@link SerialExecutor} lanes over a shared executor, so pool parallelism is
+ * kept across lanes while each lane delivers in FIFO order.
+ * <br>
+ * {@link LaneMode#PER_SOURCE} - one lane for the collection, use one
+ * dispatcher per collection. Every listener sees events in mutation order.
+ * <br>
+ * {@link LaneMode#PER_LISTENER} - one lane per listener, each listener sees
+ * events in order, while a slow listener doesn't delay others. Dispatcher can
+ * be shared by collections. Lane of a listener is removed when it has no
+ * pending event, so lanes are kept only for listeners with work in flight.
+ * 
+ * <pre>
+ * List&lt;String&gt; list = new NotificationList&lt;&gt;(new ArrayList&lt;&gt;(), new OrderedDispatcher(pool));
+ * </pre>
+ * 
+ * @author Kuldeep
+ *
+ */
+public class OrderedDispatcher implements NotificationDispatcher {
+
+	public enum LaneMode {
+		PER_SOURCE, PER_LISTENER;
+	}
+
+	private final Executor executor;
+	private final LaneMode mode;
+	private final int maxBatch;
+	private final SerialExecutor lane;
+	private final ConcurrentMap<NotificationListener<?>, ListenerLane> listenerLanes = new ConcurrentHashMap<>();
+	/**
+	 * Gets or creates lane of listener and counts event, under lock of map
+	 * bin so lane can't be removed concurrently
+	 */
+	private final BiFunction<NotificationListener<?>, ListenerLane, ListenerLane> acquire = (listener, lane) -> {
+		if (lane == null) {
+			lane = newListenerLane();
+		}
+		lane.pending++;
+		return lane;
+	};
+	/**
+	 * Counts delivered event, removes lane when idle
+	 */
+	private final BiFunction<NotificationListener<?>, ListenerLane, ListenerLane> release = (listener,
+			lane) -> --lane.pending == 0 ? null : lane;
+
+	/**
+	 * Dispatcher with single lane ({@link LaneMode#PER_SOURCE})
+	 * 
+	 * @param executor
+	 *            shared executor
+	 */
+	public OrderedDispatcher(Executor executor) {
+		this(executor, LaneMode.PER_SOURCE);
+	}
+
+	public OrderedDispatcher(Executor executor, LaneMode mode) {
+		this(executor, mode, SerialExecutor.DEFAULT_MAX_BATCH);
+	}
+
+	/**
+	 * @param executor
+	 *            shared executor
+	 * @param mode
+	 *            lane mode
+	 * @param maxBatch
+	 *            max events delivered by a lane in one executor task
+	 */
+	public OrderedDispatcher(Executor executor, LaneMode mode, int maxBatch) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Lane mode can't be null");
+		}
+		this.lane = new SerialExecutor(executor, maxBatch);
+		this.executor = executor;
+		this.mode = mode;
+		this.maxBatch = maxBatch;
+	}
+
+	public LaneMode getMode() {
+		return mode;
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		if (mode == LaneMode.PER_SOURCE) {
+			lane.execute(new Runnable() {
+				public void run() {
+					listeners.deliver(event);
+				}
+			});
+			return;
+		}
+		NotificationEventType type = event.getType();
+		for (int i = 0; i < listeners.size(); i++) {
+			if (!listeners.accepts(i, type)) {
+				continue;
+			}
+			NotificationListener<E> listener = listeners.listener(i);
+			ListenerLane listenerLane = listenerLanes.compute(listener, acquire);
+			try {
+				listenerLane.lane.execute(new Runnable() {
+					public void run() {
+						try {
+							listener.onEvent(event);
+						} finally {
+							listenerLanes.computeIfPresent(listener, release);
+						}
+					}
+				});
+			} catch (RuntimeException e) {
+				listenerLanes.computeIfPresent(listener, release);
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Runs task on source lane
+	 */
+	@Override
+	public void execute(Runnable task) {
+		lane.execute(task);
+	}
+
+	private ListenerLane newListenerLane() {
+		return new ListenerLane(new SerialExecutor(executor, maxBatch));
+	}
+
+	/**
+	 * @return number of listener lanes, i.e. listeners with pending events
+	 *         ({@link LaneMode#PER_LISTENER})
+	 */
+	public int getListenerLaneCount() {
+		return listenerLanes.size();
+	}
+
+	/**
+	 * Lane of a listener with count of its pending events, count is guarded
+	 * by map bin lock (changed only in compute)
+	 */
+	private static final class ListenerLane {
+		private final SerialExecutor lane;
+		private int pending;
+
+		ListenerLane(SerialExecutor lane) {
+			this.lane = lane;
+		}
+	}
+
+}
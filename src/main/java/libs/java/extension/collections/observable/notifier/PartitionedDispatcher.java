@@ -0,0 +1,402 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import libs.java.extension.collections.observable.KeyValue;
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Dispatcher which keeps order of events per key while delivering events of
+ * different keys in parallel. Key of event (key of {@link KeyValue} element
+ * for maps, element itself for collections) is hashed to one of N lanes, each
+ * lane delivers its events one at a time in FIFO order.
+ * <br>
+ * Multi events are split by lane, each lane delivers a multi event with
+ * elements of its keys (so a listener may receive a bulk change as several
+ * events, weight of event is shared among them by size). CLEAR events, multi events without elements (copy disabled or not
+ * needed) and tasks without key ({@link #execute(Runnable)}) are barriers:
+ * they are delivered after all events submitted before them on every lane,
+ * and before any event submitted after them. Each lane stops at the barrier
+ * (without holding a thread) and the last lane reaching it delivers the event
+ * and resumes the others, so a barrier costs a task per lane.
+ * <br>
+ * Lanes run on a shared executor ({@link SerialExecutor} per lane) or on a
+ * dedicated thread per lane. Lane depth and peak depth are kept per lane to
+ * find hot partitions.
+ * 
+ * <pre>
+ * Map&lt;String, String&gt; map = new NotificationConcurrentMap&lt;&gt;(new ConcurrentHashMap&lt;&gt;(), new PartitionedDispatcher(pool, 8));
+ * </pre>
+ * 
+ * @author Kuldeep
+ *
+ */
+public class PartitionedDispatcher implements NotificationDispatcher, AutoCloseable {
+
+	private final SerialExecutor[] lanes;
+	/**
+	 * Dedicated lane threads, null when lanes run on shared executor
+	 */
+	private final ExecutorService[] threads;
+	private final AtomicLongArray enqueued;
+	private final AtomicLongArray delivered;
+	private final AtomicLongArray peakDepth;
+	/**
+	 * Held while a barrier is submitted to lanes
+	 */
+	private final Object barrierLock = new Object();
+
+	/**
+	 * Lanes on shared executor
+	 * 
+	 * @param executor
+	 *            shared executor
+	 * @param lanes
+	 *            number of lanes
+	 * @throws IllegalArgumentException
+	 *             if executor is null or lanes not positive
+	 */
+	public PartitionedDispatcher(Executor executor, int lanes) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Passed executor can't be null");
+		}
+		if (lanes <= 0) {
+			throw new IllegalArgumentException("Lanes should be positive");
+		}
+		this.lanes = new SerialExecutor[lanes];
+		for (int i = 0; i < lanes; i++) {
+			this.lanes[i] = new SerialExecutor(executor);
+		}
+		this.threads = null;
+		this.enqueued = new AtomicLongArray(lanes);
+		this.delivered = new AtomicLongArray(lanes);
+		this.peakDepth = new AtomicLongArray(lanes);
+	}
+
+	/**
+	 * Lanes pinned to dedicated threads, one per lane. Threads run till
+	 * {@link #close()}.
+	 * 
+	 * @param lanes
+	 *            number of lanes
+	 * @param threadFactory
+	 *            factory for lane threads (e.g. to set names, priority or
+	 *            affinity)
+	 * @throws IllegalArgumentException
+	 *             if thread factory is null or lanes not positive
+	 */
+	public PartitionedDispatcher(int lanes, ThreadFactory threadFactory) {
+		if (threadFactory == null) {
+			throw new IllegalArgumentException("Passed thread factory can't be null");
+		}
+		if (lanes <= 0) {
+			throw new IllegalArgumentException("Lanes should be positive");
+		}
+		this.lanes = new SerialExecutor[lanes];
+		this.threads = new ExecutorService[lanes];
+		for (int i = 0; i < lanes; i++) {
+			threads[i] = Executors.newSingleThreadExecutor(threadFactory);
+			this.lanes[i] = new SerialExecutor(threads[i]);
+		}
+		this.enqueued = new AtomicLongArray(lanes);
+		this.delivered = new AtomicLongArray(lanes);
+		this.peakDepth = new AtomicLongArray(lanes);
+	}
+
+	/**
+	 * Lanes pinned to dedicated daemon threads, see
+	 * {@link #PartitionedDispatcher(int, ThreadFactory)}
+	 */
+	public PartitionedDispatcher(int lanes) {
+		this(lanes, new ThreadFactory() {
+			private final AtomicInteger count = new AtomicInteger();
+
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "partitioned-dispatcher-" + count.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		if (!event.isMulti()) {
+			submit(lane(event.getElement()), new Runnable() {
+				public void run() {
+					listeners.deliver(event);
+				}
+			});
+			return;
+		}
+		Collection<? extends E> elements = event.getElements();
+		if (event.isClear() || elements == null || elements.isEmpty()) {
+			barrier(new Runnable() {
+				public void run() {
+					listeners.deliver(event);
+				}
+			});
+			return;
+		}
+		List<List<E>> parts = new ArrayList<>(lanes.length);
+		List<List<E>> oldParts = new ArrayList<>(lanes.length);
+		Collection<? extends E> oldElements = event.getOldElements();
+		boolean withOld = oldElements != null && oldElements.size() == elements.size();
+		Iterator<? extends E> old = withOld ? oldElements.iterator() : null;
+		int first = -1;
+		boolean split = false;
+		for (int i = 0; i < lanes.length; i++) {
+			parts.add(null);
+			oldParts.add(null);
+		}
+		for (E element : elements) {
+			int lane = lane(element);
+			if (first < 0) {
+				first = lane;
+			} else if (lane != first) {
+				split = true;
+			}
+			if (parts.get(lane) == null) {
+				parts.set(lane, new ArrayList<>());
+				oldParts.set(lane, new ArrayList<>());
+			}
+			parts.get(lane).add(element);
+			if (withOld) {
+				oldParts.get(lane).add(old.next());
+			}
+		}
+		if (!split) {
+			submit(first, new Runnable() {
+				public void run() {
+					listeners.deliver(event);
+				}
+			});
+			return;
+		}
+		for (int i = 0; i < lanes.length; i++) {
+			if (parts.get(i) == null) {
+				continue;
+			}
+			// weight shared by size, parts weigh as much as event
+			double weight = event.getWeight() * parts.get(i).size() / elements.size();
+			NotificationEvent<E> part = withOld
+					? new NotificationEvent<E>(parts.get(i), oldParts.get(i), event.getType(), weight)
+					: new NotificationEvent<E>(parts.get(i), event.getType(), weight);
+			submit(i, new Runnable() {
+				public void run() {
+					listeners.deliver(part);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Runs task as barrier, in order with events of all lanes
+	 */
+	@Override
+	public void execute(Runnable task) {
+		barrier(task);
+	}
+
+	/**
+	 * Runs task on lane of key, in order with events of that key
+	 * 
+	 * @param key
+	 *            key
+	 * @param task
+	 *            task
+	 */
+	@Override
+	public void execute(Object key, Runnable task) {
+		submit(laneOfKey(key), task);
+	}
+
+	/**
+	 * Submits task to every lane, each lane suspends when it reaches the task,
+	 * last one runs task and resumes all lanes. Barriers are submitted under
+	 * lock, so all lanes have them in same order, a lane can't wait for a
+	 * barrier other lanes reach only after the one it holds.
+	 */
+	private void barrier(Runnable task) {
+		if (lanes.length == 1) {
+			submit(0, task);
+			return;
+		}
+		Barrier barrier = new Barrier(task);
+		synchronized (barrierLock) {
+			for (int i = 0; i < lanes.length; i++) {
+				SerialExecutor lane = lanes[i];
+				try {
+					submit(i, new Runnable() {
+						public void run() {
+							// suspended before counted, so resume can't come first
+							lane.suspend();
+							barrier.arrive();
+						}
+					});
+				} catch (RuntimeException e) {
+					barrier.cancel(i);
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Barrier waiting for all lanes
+	 */
+	private final class Barrier {
+		private final Runnable task;
+		private final AtomicInteger waiting = new AtomicInteger(lanes.length);
+		/**
+		 * Lanes barrier is submitted to, less than all if a lane rejected it
+		 */
+		private volatile int submitted = lanes.length;
+
+		Barrier(Runnable task) {
+			this.task = task;
+		}
+
+		void arrive() {
+			if (waiting.decrementAndGet() == 0) {
+				complete();
+			}
+		}
+
+		/**
+		 * Lane of given index rejected barrier, lanes before it are resumed
+		 * without running task
+		 */
+		void cancel(int submitted) {
+			this.submitted = submitted;
+			if (waiting.addAndGet(submitted - lanes.length) == 0) {
+				complete();
+			}
+		}
+
+		private void complete() {
+			int count = submitted;
+			try {
+				if (count == lanes.length) {
+					task.run();
+				}
+			} finally {
+				for (int i = 0; i < count; i++) {
+					lanes[i].resume();
+				}
+			}
+		}
+	}
+
+	private void submit(int lane, Runnable task) {
+		long depth = enqueued.incrementAndGet(lane) - delivered.get(lane);
+		if (depth > peakDepth.get(lane)) {
+			peakDepth.set(lane, depth);
+		}
+		lanes[lane].execute(new Runnable() {
+			public void run() {
+				try {
+					task.run();
+				} finally {
+					delivered.incrementAndGet(lane);
+				}
+			}
+		});
+	}
+
+	private int lane(Object element) {
+		if (element instanceof KeyValue) {
+			return laneOfKey(((KeyValue<?, ?>) element).getKey());
+		}
+		return laneOfKey(element);
+	}
+
+	/**
+	 * @return lane index of key
+	 */
+	public int laneOfKey(Object key) {
+		if (key == null) {
+			return 0;
+		}
+		int h = key.hashCode();
+		h ^= h >>> 16;
+		return (h & 0x7fffffff) % lanes.length;
+	}
+
+	public int getLaneCount() {
+		return lanes.length;
+	}
+
+	/**
+	 * @return events waiting or being delivered in lane
+	 */
+	public long getLaneDepth(int lane) {
+		return enqueued.get(lane) - delivered.get(lane);
+	}
+
+	/**
+	 * @return depth of each lane
+	 */
+	public long[] getLaneDepths() {
+		long[] depths = new long[lanes.length];
+		for (int i = 0; i < depths.length; i++) {
+			depths[i] = getLaneDepth(i);
+		}
+		return depths;
+	}
+
+	/**
+	 * @return highest depth seen in lane (approximate under contention)
+	 */
+	public long getPeakLaneDepth(int lane) {
+		return peakDepth.get(lane);
+	}
+
+	/**
+	 * @return events delivered by lane
+	 */
+	public long getDeliveredCount(int lane) {
+		return delivered.get(lane);
+	}
+
+	/**
+	 * Stops dedicated lane threads after delivering submitted events, no-op
+	 * for lanes on shared executor
+	 */
+	@Override
+	public void close() {
+		if (threads != null) {
+			for (ExecutorService thread : threads) {
+				thread.shutdown();
+			}
+		}
+	}
+
+	/**
+	 * Waits till dedicated lane threads end, after {@link #close()}
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		if (threads == null) {
+			return true;
+		}
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for (ExecutorService thread : threads) {
+			if (!thread.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
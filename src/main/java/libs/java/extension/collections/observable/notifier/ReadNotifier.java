@@ -1,6 +1,5 @@
 package libs.java.extension.collections.observable.notifier;
 import libs.java.extension.collections.observable.NotificationEvent;
-import libs.java.extension.collections.observable.NotificationListener;
 import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
 
 /**
@@ -12,15 +11,24 @@ import libs.java.extension.collections.observable.NotificationListener.Notificat
 public class ReadNotifier< E> implements Notifier< E> {
 
 	private E element;
+	private double weight = 1;
 
 	public ReadNotifier(E element) {
 		this.element = element;
 	}
 
+	/**
+	 * @param weight
+	 *            number of reads event represents, see {@link ReadSampler}
+	 */
+	public ReadNotifier(E element, double weight) {
+		this.element = element;
+		this.weight = weight;
+	}
+
 	@Override
-	public void notify(NotificationListener<E> listener) {
-		NotificationEvent<E> event = new NotificationEvent<>(element, NotificationEventType.READ);
-		listener.onEvent(event);
+	public NotificationEvent<E> createEvent() {
+		return new NotificationEvent<>(element, NotificationEventType.READ, weight);
 	}
 
 }
@@ -0,0 +1,134 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampling policy of Read events, to observe reads of a collection without
+ * notifying every read. {@link #sample()} decides per read if event is sent
+ * and returns weight of sampled read (number of reads it represents), which
+ * is available to listener as
+ * {@link libs.java.extension.collections.observable.NotificationEvent#getWeight()},
+ * so counts can be scaled back (weights are summed when events are merged by
+ * {@link CoalescingDispatcher}). Thread safe, a sampler can be shared by
+ * collections (they are then sampled together). Unsampled reads write no
+ * shared state, reads are counted per thread.
+ * 
+ * @author Kuldeep
+ *
+ */
+public abstract class ReadSampler {
+
+	/**
+	 * Decides if current read is sampled
+	 * 
+	 * @return weight of read if sampled, 0 if not sampled
+	 */
+	public abstract double sample();
+
+	/**
+	 * Samples every n-th read of each thread, weight n
+	 * 
+	 * @param n
+	 *            sampling interval
+	 * @return sampler
+	 * @throws IllegalArgumentException
+	 *             if n is less than 1
+	 */
+	public static ReadSampler everyNth(int n) {
+		if (n < 1) {
+			throw new IllegalArgumentException("Sampling interval must be at least 1");
+		}
+		ThreadLocal<int[]> reads = ThreadLocal.withInitial(() -> new int[1]);
+		return new ReadSampler() {
+			public double sample() {
+				int[] count = reads.get();
+				if (count[0] == 0) {
+					count[0] = n - 1;
+					return n;
+				}
+				count[0]--;
+				return 0;
+			}
+		};
+	}
+
+	/**
+	 * Samples each read with given probability (using
+	 * {@link ThreadLocalRandom}, no shared state), weight 1 / probability
+	 * 
+	 * @param probability
+	 *            probability of sampling, in (0, 1]
+	 * @return sampler
+	 * @throws IllegalArgumentException
+	 *             if probability is not in (0, 1]
+	 */
+	public static ReadSampler probability(double probability) {
+		if (!(probability > 0 && probability <= 1)) {
+			throw new IllegalArgumentException("Probability must be in (0, 1]");
+		}
+		double weight = 1 / probability;
+		return new ReadSampler() {
+			public double sample() {
+				return ThreadLocalRandom.current().nextDouble() < probability ? weight : 0;
+			}
+		};
+	}
+
+	/**
+	 * Token bucket rate limit, samples at most permitsPerSecond reads per
+	 * second on average, allowing bursts of burst reads. Weight of a sampled
+	 * read is number of reads of its thread since previous sampled read of
+	 * the thread (inclusive).
+	 * 
+	 * @param permitsPerSecond
+	 *            sampled reads per second
+	 * @param burst
+	 *            bucket size
+	 * @return sampler
+	 * @throws IllegalArgumentException
+	 *             if permitsPerSecond is not positive or burst is less than 1
+	 */
+	public static ReadSampler rateLimit(double permitsPerSecond, int burst) {
+		if (!(permitsPerSecond > 0) || burst < 1) {
+			throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+		}
+		return new TokenBucket(permitsPerSecond, burst);
+	}
+
+	/**
+	 * Lock free token bucket, kept as time when bucket is full again. Bucket
+	 * is only read by unsampled reads, skipped reads are counted per thread.
+	 */
+	private static final class TokenBucket extends ReadSampler {
+		private final long interval;
+		private final long capacity;
+		private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+		private final ThreadLocal<long[]> skipped = ThreadLocal.withInitial(() -> new long[1]);
+
+		TokenBucket(double permitsPerSecond, int burst) {
+			this.interval = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+			this.capacity = interval * burst;
+		}
+
+		@Override
+		public double sample() {
+			long now = System.nanoTime();
+			while (true) {
+				long full = fullAt.get();
+				long next = Math.max(full, now) + interval;
+				if (next - now > capacity) {
+					skipped.get()[0]++;
+					return 0;
+				}
+				if (fullAt.compareAndSet(full, next)) {
+					long[] count = skipped.get();
+					long weight = count[0] + 1;
+					count[0] = 0;
+					return weight;
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,391 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import libs.java.extension.collections.observable.BatchNotificationListener;
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Dispatcher over preallocated ring buffer (Disruptor style). Mutating thread
+ * only claims a slot and writes event into it, no task object or queue node
+ * is created. A single consumer thread delivers all published events in
+ * sequence order, in batches, and calls
+ * {@link BatchNotificationListener#onEndOfBatch()} after each batch.
+ * <br>
+ * {@link ProducerType#SINGLE} - only one thread mutates collections using
+ * this dispatcher, sequence is claimed without atomic instruction.
+ * {@link ProducerType#MULTI} - any thread, sequence claimed with CAS.
+ * <br>
+ * When buffer is full, producer waits for consumer. Listener exceptions are
+ * ignored, so one listener can't stop delivery to others.
+ * <br>
+ * Event published by a listener (listener mutating an observed collection) is
+ * not put in buffer, as consumer thread would wait for itself when buffer is
+ * full. It is delivered right after the event being delivered, before other
+ * buffered events.
+ * <br>
+ * After {@link #close()}, published events are dropped (collection is already
+ * changed, so mutation is not failed), see {@link #getDroppedCount()}.
+ * 
+ * <pre>
+ * RingBufferDispatcher dispatcher = new RingBufferDispatcher(1024, ProducerType.SINGLE, WaitStrategy.YIELDING);
+ * list.setExecutor(dispatcher);
+ * </pre>
+ * 
+ * @author Kuldeep
+ *
+ */
+public class RingBufferDispatcher implements NotificationDispatcher, AutoCloseable {
+
+	public enum ProducerType {
+		SINGLE, MULTI;
+	}
+
+	/**
+	 * How consumer waits for events (and producer for free slot)
+	 */
+	public enum WaitStrategy {
+		/**
+		 * Consumer sleeps on lock condition, lowest cpu, highest latency
+		 */
+		BLOCKING,
+		/**
+		 * Spins then yields thread
+		 */
+		YIELDING,
+		/**
+		 * Spins, lowest latency, keeps a core busy
+		 */
+		BUSY_SPIN;
+	}
+
+	private static final int SPIN_TRIES = 100;
+
+	private static final class Slot {
+		NotificationEvent<?> event;
+		Snapshot<?> listeners;
+		Runnable task;
+	}
+
+	private final Slot[] slots;
+	private final int mask;
+	private final int indexShift;
+	private final ProducerType producerType;
+	private final WaitStrategy waitStrategy;
+
+	/**
+	 * Single producer - last published sequence. Multi producer - last claimed
+	 * sequence, published slots are marked in {@link #available}
+	 */
+	private final AtomicLong cursor = new AtomicLong(-1);
+	/**
+	 * Single producer only, next sequence to claim
+	 */
+	private long nextSequence = 0;
+	private final AtomicIntegerArray available;
+	/**
+	 * Last sequence processed by consumer
+	 */
+	private final AtomicLong consumed = new AtomicLong(-1);
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition published = lock.newCondition();
+	private volatile boolean consumerWaiting;
+	private volatile boolean running = true;
+	private final AtomicLong dropped = new AtomicLong();
+	private final Thread consumer;
+	/**
+	 * Events published by listeners on consumer thread, used by consumer
+	 * thread only
+	 */
+	private final ArrayDeque<Slot> nested = new ArrayDeque<>();
+
+	public RingBufferDispatcher(int size, ProducerType producerType, WaitStrategy waitStrategy) {
+		this(size, producerType, waitStrategy, new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "ring-buffer-dispatcher");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	/**
+	 * @param size
+	 *            number of slots, power of 2
+	 * @param producerType
+	 *            single or multi producer
+	 * @param waitStrategy
+	 *            wait strategy
+	 * @param threadFactory
+	 *            factory for consumer thread
+	 * @throws IllegalArgumentException
+	 *             if size is not power of 2 or other argument is null
+	 */
+	public RingBufferDispatcher(int size, ProducerType producerType, WaitStrategy waitStrategy,
+			ThreadFactory threadFactory) {
+		if (size <= 0 || Integer.bitCount(size) != 1) {
+			throw new IllegalArgumentException("Size should be power of 2");
+		}
+		if (producerType == null || waitStrategy == null || threadFactory == null) {
+			throw new IllegalArgumentException("Producer type, wait strategy and thread factory can't be null");
+		}
+		this.slots = new Slot[size];
+		for (int i = 0; i < size; i++) {
+			slots[i] = new Slot();
+		}
+		this.mask = size - 1;
+		this.indexShift = Integer.numberOfTrailingZeros(size);
+		this.producerType = producerType;
+		this.waitStrategy = waitStrategy;
+		if (producerType == ProducerType.MULTI) {
+			available = new AtomicIntegerArray(size);
+			for (int i = 0; i < size; i++) {
+				available.set(i, -1);
+			}
+		} else {
+			available = null;
+		}
+		this.consumer = threadFactory.newThread(new Runnable() {
+			public void run() {
+				consume();
+			}
+		});
+		consumer.start();
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		publish(event, listeners, null);
+	}
+
+	/**
+	 * Runs task on consumer thread, in sequence with events
+	 */
+	@Override
+	public void execute(Runnable task) {
+		publish(null, null, task);
+	}
+
+	/**
+	 * @return number of published events not yet delivered
+	 */
+	public long pending() {
+		return cursor.get() - consumed.get();
+	}
+
+	/**
+	 * @return number of events dropped as published after close
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * Stops accepting events, consumer thread stops after delivering already
+	 * published events. Events published after close are dropped.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		signalConsumer();
+	}
+
+	/**
+	 * Waits till consumer thread ends, after {@link #close()}
+	 */
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		consumer.join(unit.toMillis(timeout));
+		return !consumer.isAlive();
+	}
+
+	private void publish(NotificationEvent<?> event, Snapshot<?> listeners, Runnable task) {
+		if (!running) {
+			dropped.incrementAndGet();
+			return;
+		}
+		if (Thread.currentThread() == consumer) {
+			Slot slot = new Slot();
+			slot.event = event;
+			slot.listeners = listeners;
+			slot.task = task;
+			nested.add(slot);
+			return;
+		}
+		long sequence;
+		if (producerType == ProducerType.SINGLE) {
+			sequence = nextSequence++;
+		} else {
+			sequence = cursor.incrementAndGet();
+		}
+		if (!waitForCapacity(sequence)) {
+			dropped.incrementAndGet();
+			return;
+		}
+		Slot slot = slots[(int) sequence & mask];
+		slot.event = event;
+		slot.listeners = listeners;
+		slot.task = task;
+		if (producerType == ProducerType.SINGLE) {
+			cursor.set(sequence);
+		} else {
+			available.set((int) sequence & mask, (int) (sequence >>> indexShift));
+		}
+		signalConsumer();
+	}
+
+	/**
+	 * Waits till slot of sequence is free, i.e. its previous use (sequence -
+	 * size) is consumed
+	 * 
+	 * @return false if consumer ended (closed) while waiting
+	 */
+	private boolean waitForCapacity(long sequence) {
+		long wrapPoint = sequence - slots.length;
+		int tries = 0;
+		while (wrapPoint > consumed.get()) {
+			if (!running && !consumer.isAlive()) {
+				return false;
+			}
+			if (waitStrategy == WaitStrategy.BLOCKING) {
+				LockSupport.parkNanos(1000L);
+			} else if (waitStrategy == WaitStrategy.YIELDING && ++tries > SPIN_TRIES) {
+				Thread.yield();
+			}
+		}
+		return true;
+	}
+
+	private void signalConsumer() {
+		if (waitStrategy == WaitStrategy.BLOCKING && consumerWaiting) {
+			lock.lock();
+			try {
+				published.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private long highestPublished(long next) {
+		long last = cursor.get();
+		if (producerType == ProducerType.SINGLE) {
+			return last;
+		}
+		for (long sequence = next; sequence <= last; sequence++) {
+			if (available.get((int) sequence & mask) != (int) (sequence >>> indexShift)) {
+				return sequence - 1;
+			}
+		}
+		return last;
+	}
+
+	private void consume() {
+		long next = 0;
+		int tries = 0;
+		while (true) {
+			long last = highestPublished(next);
+			if (last < next) {
+				if (!running) {
+					// recheck, a producer may have published just before close
+					if (highestPublished(next) < next) {
+						return;
+					}
+					continue;
+				}
+				tries = waitForEvent(next, tries);
+				continue;
+			}
+			tries = 0;
+			Snapshot<?> batchListeners = null;
+			for (long sequence = next; sequence <= last; sequence++) {
+				Slot slot = slots[(int) sequence & mask];
+				batchListeners = deliver(slot, batchListeners);
+				slot.event = null;
+				slot.listeners = null;
+				slot.task = null;
+				Slot published;
+				while ((published = nested.poll()) != null) {
+					batchListeners = deliver(published, batchListeners);
+				}
+			}
+			endOfBatch(batchListeners);
+			consumed.set(last);
+			next = last + 1;
+		}
+	}
+
+	/**
+	 * Runs task or delivers event of slot
+	 * 
+	 * @return listeners of current batch
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Snapshot<?> deliver(Slot slot, Snapshot<?> batchListeners) {
+		try {
+			if (slot.task != null) {
+				slot.task.run();
+			} else {
+				if (batchListeners != slot.listeners) {
+					endOfBatch(batchListeners);
+					batchListeners = slot.listeners;
+				}
+				((Snapshot) slot.listeners).deliver((NotificationEvent) slot.event);
+			}
+		} catch (RuntimeException e) {
+		}
+		return batchListeners;
+	}
+
+	private int waitForEvent(long next, int tries) {
+		switch (waitStrategy) {
+		case BLOCKING:
+			lock.lock();
+			try {
+				consumerWaiting = true;
+				if (running && highestPublished(next) < next) {
+					published.await(1, TimeUnit.MILLISECONDS);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+			} finally {
+				consumerWaiting = false;
+				lock.unlock();
+			}
+			return 0;
+		case YIELDING:
+			if (tries > SPIN_TRIES) {
+				Thread.yield();
+			}
+			return tries + 1;
+		default:
+			return tries;
+		}
+	}
+
+	private void endOfBatch(Snapshot<?> listeners) {
+		if (listeners == null) {
+			return;
+		}
+		for (int i = 0; i < listeners.size(); i++) {
+			NotificationListener<?> listener = listeners.listener(i);
+			if (listener instanceof BatchNotificationListener) {
+				try {
+					((BatchNotificationListener<?>) listener).onEndOfBatch();
+				} catch (RuntimeException e) {
+				}
+			}
+		}
+	}
+
+}
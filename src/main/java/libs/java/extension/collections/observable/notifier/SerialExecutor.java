@@ -0,0 +1,154 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serial lane over a shared executor. Tasks are run one at a time in FIFO
+ * order, while the underlying executor (e.g. thread pool) can still run other
+ * lanes in parallel. Only one task is submitted to the underlying executor per
+ * drain batch, not one per task. If underlying executor rejects, submitted
+ * task is taken back and exception is thrown to caller, lane stays usable.
+ * <br>
+ * A task can suspend its lane, lane then runs no further task (without
+ * holding a thread) till it is resumed.
+ * 
+ * @author Kuldeep
+ *
+ */
+public class SerialExecutor implements Executor {
+
+	public static final int DEFAULT_MAX_BATCH = 1024;
+
+	private final Executor executor;
+	private final int maxBatch;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	/**
+	 * Size of tasks, kept separately as queue size is O(n)
+	 */
+	private final AtomicInteger count = new AtomicInteger();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+	private volatile boolean suspended;
+	private final Runnable drain = new Runnable() {
+		public void run() {
+			drain();
+		}
+	};
+
+	public SerialExecutor(Executor executor) {
+		this(executor, DEFAULT_MAX_BATCH);
+	}
+
+	/**
+	 * @param executor
+	 *            underlying executor
+	 * @param maxBatch
+	 *            max tasks run in one drain, after that drain is submitted
+	 *            again so other lanes get a chance on the executor
+	 * @throws IllegalArgumentException
+	 *             if executor is null or maxBatch not positive
+	 */
+	public SerialExecutor(Executor executor, int maxBatch) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Passed executor can't be null");
+		}
+		if (maxBatch <= 0) {
+			throw new IllegalArgumentException("Max batch should be positive");
+		}
+		this.executor = executor;
+		this.maxBatch = maxBatch;
+	}
+
+	/**
+	 * @throws RejectedExecutionException
+	 *             if underlying executor rejects drain, task is not run
+	 */
+	@Override
+	public void execute(Runnable task) {
+		if (task == null) {
+			throw new NullPointerException();
+		}
+		count.incrementAndGet();
+		tasks.offer(task);
+		if (suspended) {
+			// resume schedules
+			return;
+		}
+		try {
+			schedule();
+		} catch (RuntimeException e) {
+			if (tasks.remove(task)) {
+				count.decrementAndGet();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * @return number of tasks waiting in this lane
+	 */
+	public int pending() {
+		return count.get();
+	}
+
+	/**
+	 * Stops lane after the running task, called by a task of this lane.
+	 * Submitted tasks wait till {@link #resume()}.
+	 */
+	void suspend() {
+		suspended = true;
+	}
+
+	/**
+	 * Resumes suspended lane, can be called from any thread
+	 */
+	void resume() {
+		suspended = false;
+		if (!tasks.isEmpty()) {
+			try {
+				schedule();
+			} catch (RejectedExecutionException e) {
+				// tasks are kept, scheduled again by next execute
+			}
+		}
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(drain);
+			} catch (RuntimeException e) {
+				scheduled.set(false);
+				throw e;
+			}
+		}
+	}
+
+	private void drain() {
+		try {
+			Runnable task;
+			// checked before each task, drain may be scheduled by execute just
+			// after suspend
+			for (int i = 0; i < maxBatch && !suspended && (task = tasks.poll()) != null; i++) {
+				count.decrementAndGet();
+				task.run();
+			}
+		} finally {
+			// resubmit if tasks remain (batch limit, task failed, or added
+			// after last poll)
+			scheduled.set(false);
+			if (!suspended && !tasks.isEmpty()) {
+				try {
+					schedule();
+				} catch (RejectedExecutionException e) {
+					// tasks are kept, scheduled again by next execute
+				}
+			}
+		}
+	}
+
+}
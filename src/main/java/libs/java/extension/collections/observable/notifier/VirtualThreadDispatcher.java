@@ -0,0 +1,228 @@
+package libs.java.extension.collections.observable.notifier;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+/**
+ * Dispatcher for listeners doing blocking work (db, file, network). Each
+ * listener gets its own lane, events of the lane are run on newly started
+ * threads - virtual threads when running on Java 21 or later, so a blocked
+ * listener doesn't hold a pool thread and doesn't starve other listeners.
+ * <br>
+ * Concurrency limit is per listener, max threads running the listener at a
+ * time. With limit 1 listener receives events in order.
+ * <br>
+ * On older Java, daemon platform threads are used (same behavior, higher cost
+ * per thread), or a {@link ThreadFactory} can be passed.
+ * <br>
+ * Lane of a listener exists only while it has events to deliver, so
+ * listeners added and removed over time don't leave lanes behind.
+ * 
+ * @author Kuldeep
+ *
+ */
+public class VirtualThreadDispatcher implements NotificationDispatcher {
+
+	private final ThreadFactory threadFactory;
+	private final int concurrency;
+	private final ConcurrentMap<NotificationListener<?>, Lane> lanes = new ConcurrentHashMap<>();
+	/**
+	 * Gets or creates lane of listener and counts event, under lock of map
+	 * bin so lane can't be removed concurrently
+	 */
+	private final BiFunction<NotificationListener<?>, Lane, Lane> acquire = (listener, lane) -> {
+		if (lane == null) {
+			lane = new Lane(listener);
+		}
+		lane.count++;
+		return lane;
+	};
+	/**
+	 * Counts delivered event, removes lane when idle
+	 */
+	private final BiFunction<NotificationListener<?>, Lane, Lane> release = (listener,
+			lane) -> --lane.count == 0 ? null : lane;
+
+	/**
+	 * Dispatcher with concurrency 1 per listener (ordered)
+	 */
+	public VirtualThreadDispatcher() {
+		this(1);
+	}
+
+	/**
+	 * @param concurrency
+	 *            max concurrent invocations per listener
+	 */
+	public VirtualThreadDispatcher(int concurrency) {
+		this(concurrency, defaultThreadFactory());
+	}
+
+	/**
+	 * @param concurrency
+	 *            max concurrent invocations per listener
+	 * @param threadFactory
+	 *            factory for delivery threads
+	 */
+	public VirtualThreadDispatcher(int concurrency, ThreadFactory threadFactory) {
+		if (concurrency <= 0) {
+			throw new IllegalArgumentException("Concurrency should be positive");
+		}
+		if (threadFactory == null) {
+			throw new IllegalArgumentException("Passed thread factory can't be null");
+		}
+		this.concurrency = concurrency;
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * @return true if virtual threads are available in running JVM
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return virtualThreadFactory() != null;
+	}
+
+	@Override
+	public <E> void dispatch(NotificationEvent<E> event, Snapshot<E> listeners) {
+		NotificationEventType type = event.getType();
+		for (int i = 0; i < listeners.size(); i++) {
+			if (listeners.accepts(i, type)) {
+				lanes.compute(listeners.listener(i), acquire).submit(event);
+			}
+		}
+	}
+
+	/**
+	 * Runs task on a new thread
+	 */
+	@Override
+	public void execute(Runnable task) {
+		threadFactory.newThread(task).start();
+	}
+
+	/**
+	 * @param listener
+	 *            listener
+	 * @return events waiting for given listener
+	 */
+	public int pending(NotificationListener<?> listener) {
+		Lane lane = lanes.get(listener);
+		return lane == null ? 0 : lane.events.size();
+	}
+
+	/**
+	 * @return number of lanes, i.e. listeners with pending events
+	 */
+	public int getLaneCount() {
+		return lanes.size();
+	}
+
+	private static ThreadFactory defaultThreadFactory() {
+		ThreadFactory factory = virtualThreadFactory();
+		if (factory != null) {
+			return factory;
+		}
+		return new ThreadFactory() {
+			public Thread newThread(Runnable r) {
+				Thread thread = new Thread(r, "notification-listener");
+				thread.setDaemon(true);
+				return thread;
+			}
+		};
+	}
+
+	/**
+	 * Thread.ofVirtual().factory(), looked up reflectively as library is built
+	 * for older Java
+	 */
+	private static ThreadFactory virtualThreadFactory() {
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Object builder = ofVirtual.invoke(null);
+			Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+			return (ThreadFactory) factory.invoke(builder);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Events of one listener, run by at most {@link #concurrency} threads
+	 */
+	private final class Lane implements Runnable {
+		private final NotificationListener<?> listener;
+		private final Queue<NotificationEvent<?>> events = new ConcurrentLinkedQueue<>();
+		private final AtomicInteger running = new AtomicInteger();
+		/**
+		 * Events submitted and not yet delivered, guarded by map bin lock
+		 * (changed only in compute)
+		 */
+		private int count;
+
+		Lane(NotificationListener<?> listener) {
+			this.listener = listener;
+		}
+
+		void submit(NotificationEvent<?> event) {
+			events.offer(event);
+			try {
+				startIfNeeded();
+			} catch (RuntimeException | Error e) {
+				if (events.remove(event)) {
+					lanes.computeIfPresent(listener, release);
+				}
+				throw e;
+			}
+		}
+
+		private void startIfNeeded() {
+			while (true) {
+				int current = running.get();
+				if (current >= concurrency || events.isEmpty()) {
+					return;
+				}
+				if (running.compareAndSet(current, current + 1)) {
+					try {
+						threadFactory.newThread(this).start();
+					} catch (RuntimeException | Error e) {
+						running.decrementAndGet();
+						throw e;
+					}
+					return;
+				}
+			}
+		}
+
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public void run() {
+			try {
+				NotificationEvent<?> event;
+				while ((event = events.poll()) != null) {
+					try {
+						((NotificationListener) listener).onEvent(event);
+					} catch (RuntimeException e) {
+					} finally {
+						lanes.computeIfPresent(listener, release);
+					}
+				}
+			} finally {
+				running.decrementAndGet();
+				// event added after last poll
+				startIfNeeded();
+			}
+		}
+	}
+
+}
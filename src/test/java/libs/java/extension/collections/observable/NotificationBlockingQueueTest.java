@@ -0,0 +1,86 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+
+import org.junit.jupiter.api.Test;
+
+public class NotificationBlockingQueueTest {
+
+	private static <E> NotificationListener<E> recorder(List<String> seen) {
+		return event -> seen.add(event.getType() + " "
+				+ (event.isMulti() ? String.valueOf(event.getElements()) : String.valueOf(event.getElement())));
+	}
+
+	@Test
+	public void drainToAndPollNotifyOneDeleteEvent() throws Exception {
+		NotificationBlockingQueue<Integer> queue = new NotificationBlockingQueue<>(new LinkedBlockingQueue<>());
+		for (int i = 0; i < 6; i++) {
+			queue.put(i);
+		}
+		List<String> seen = new ArrayList<>();
+		queue.addListener(recorder(seen));
+		List<Integer> target = new ArrayList<>();
+		assertEquals(3, queue.drainTo(target, 3));
+		assertEquals(List.of(0, 1, 2), target);
+		assertEquals(List.of(3, 4), queue.poll(2));
+		assertEquals(List.of(), queue.poll(0));
+		assertEquals(1, queue.drainTo(target));
+		assertEquals(0, queue.drainTo(target));
+		assertEquals(List.of("DELETE [0, 1, 2]", "DELETE [3, 4]", "DELETE [5]"), seen);
+	}
+
+	@Test
+	public void drainToRejectingCollectionNotifiesMovedElementsOnly() throws Exception {
+		NotificationBlockingQueue<Integer> queue = new NotificationBlockingQueue<>(new LinkedBlockingQueue<>());
+		for (int i = 0; i < 5; i++) {
+			queue.put(i);
+		}
+		List<String> seen = new ArrayList<>();
+		queue.addListener(recorder(seen));
+		List<Integer> target = new ArrayList<Integer>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public boolean add(Integer e) {
+				if (size() == 2) {
+					throw new IllegalStateException("Full");
+				}
+				return super.add(e);
+			}
+		};
+		assertThrows(IllegalStateException.class, () -> queue.drainTo(target));
+		assertEquals(List.of(0, 1), target);
+		assertEquals(List.of(2, 3, 4), new ArrayList<>(queue));
+		assertEquals(List.of("DELETE [0, 1]"), seen);
+	}
+
+	@Test
+	public void transferNotifiesAddBeforeConsumerDelete() throws Exception {
+		NotificationTransferQueue<String> queue = new NotificationTransferQueue<>(new LinkedTransferQueue<>());
+		List<String> seen = Collections.synchronizedList(new ArrayList<>());
+		queue.addListener(recorder(seen));
+		assertFalse(queue.tryTransfer("a"));
+		Thread consumer = new Thread(() -> {
+			try {
+				queue.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		consumer.start();
+		queue.transfer("b");
+		consumer.join();
+		Thread.currentThread().interrupt();
+		assertThrows(InterruptedException.class, () -> queue.transfer("c"));
+		assertEquals(0, queue.size());
+		assertEquals(List.of("ADD b", "DELETE b", "ADD c", "DELETE c"), seen);
+	}
+}
@@ -0,0 +1,137 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class NotificationConcurrentMapTest {
+
+	private static String describe(NotificationEvent<KeyValue<String, Integer>> event) {
+		KeyValue<String, Integer> kv = event.getElement();
+		KeyValue<String, Integer> old = event.getOldElement();
+		return event.getType() + " " + kv.getKey() + "=" + kv.getValue()
+				+ (old == null ? "" : " from " + old.getValue());
+	}
+
+	@Test
+	public void atomicOperationsNotifyOneTypedEvent() {
+		NotificationConcurrentMap<String, Integer> map = new NotificationConcurrentMap<>(new ConcurrentHashMap<>());
+		List<String> seen = new ArrayList<>();
+		map.addListener(event -> seen.add(describe(event)));
+		map.putIfAbsent("a", 1);
+		map.putIfAbsent("a", 2);
+		map.replace("a", 5, 6);
+		map.replace("a", 1, 2);
+		map.replace("a", 3);
+		map.computeIfAbsent("a", k -> 9);
+		map.computeIfAbsent("b", k -> 1);
+		map.computeIfPresent("b", (k, v) -> v + 1);
+		map.merge("b", 10, Integer::sum);
+		map.compute("b", (k, v) -> null);
+		map.computeIfPresent("c", (k, v) -> 1);
+		map.remove("a", 4);
+		map.remove("a", 3);
+		assertEquals(List.of("ADD a=1", "MODIFY a=2 from 1", "MODIFY a=3 from 2", "ADD b=1", "MODIFY b=2 from 1",
+				"MODIFY b=12 from 2", "DELETE b=12", "DELETE a=3"), seen);
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void concurrentMergesNotifyExactOldAndNewValues() throws Exception {
+		NotificationConcurrentMap<Integer, Integer> map = new NotificationConcurrentMap<>(new ConcurrentHashMap<>());
+		AtomicInteger adds = new AtomicInteger();
+		AtomicInteger modifies = new AtomicInteger();
+		AtomicLong delta = new AtomicLong();
+		map.addListener(event -> {
+			if (event.isAdd()) {
+				adds.incrementAndGet();
+				delta.addAndGet(event.getElement().getValue());
+			} else if (event.isModify()) {
+				modifies.incrementAndGet();
+				delta.addAndGet(event.getElement().getValue() - event.getOldElement().getValue());
+			}
+		});
+		int threads = 8;
+		int perThread = 10000;
+		int keys = 16;
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					map.merge(i % keys, 1, Integer::sum);
+				}
+			}));
+		}
+		workers.forEach(Thread::start);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		assertEquals(keys, adds.get());
+		assertEquals(threads * perThread - keys, modifies.get());
+		assertEquals(threads * perThread, delta.get());
+		assertEquals(threads * perThread, map.values().stream().mapToInt(Integer::intValue).sum());
+	}
+
+	@Test
+	public void clearSupplierNotSupported() {
+		NotificationConcurrentMap<String, Integer> map = new NotificationConcurrentMap<>(new ConcurrentHashMap<>());
+		assertThrows(UnsupportedOperationException.class, () -> map.setClearSupplier(ConcurrentHashMap::new));
+	}
+
+	@Test
+	public void clearDuringMergesKeepsEventsExact() throws Exception {
+		NotificationConcurrentMap<Integer, Integer> map = new NotificationConcurrentMap<>(new ConcurrentHashMap<>());
+		AtomicInteger changes = new AtomicInteger();
+		AtomicLong delta = new AtomicLong();
+		map.addListener(event -> {
+			if (event.isAdd()) {
+				changes.incrementAndGet();
+				delta.addAndGet(event.getElement().getValue());
+			} else if (event.isModify()) {
+				changes.incrementAndGet();
+				delta.addAndGet(event.getElement().getValue() - event.getOldElement().getValue());
+			}
+		});
+		int threads = 4;
+		int perThread = 10000;
+		int keys = 16;
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread clearer = new Thread(() -> {
+			while (running.get()) {
+				map.clear();
+			}
+		});
+		List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					map.merge(i % keys, 1, Integer::sum);
+				}
+			}));
+		}
+		clearer.start();
+		workers.forEach(Thread::start);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		running.set(false);
+		clearer.join();
+		// every merge is one ADD or MODIFY of +1, clear in place loses none
+		assertEquals(threads * perThread, changes.get());
+		assertEquals(threads * perThread, delta.get());
+		int before = map.values().stream().mapToInt(Integer::intValue).sum();
+		for (int key = 0; key < keys; key++) {
+			map.merge(key, 1, Integer::sum);
+		}
+		assertEquals(before + keys, map.values().stream().mapToInt(Integer::intValue).sum());
+	}
+}
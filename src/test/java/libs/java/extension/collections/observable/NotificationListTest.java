@@ -0,0 +1,46 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+public class NotificationListTest {
+
+	@Test
+	public void forEachSendsOneReadEventFromSamePass() {
+		List<Integer> delegate = new ArrayList<Integer>(Arrays.asList(1, 2, 3)) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Object[] toArray() {
+				throw new AssertionError("elements copied in second pass");
+			}
+		};
+		NotificationList<Integer> list = new NotificationList<>(delegate);
+		List<Object> events = new ArrayList<>();
+		list.addListener(event -> events.add(new ArrayList<>(event.getElements())));
+		List<Integer> seen = new ArrayList<>();
+		list.forEach(seen::add);
+		assertEquals(Arrays.asList(1, 2, 3), seen);
+		assertEquals(Arrays.asList(Arrays.asList(1, 2, 3)), events);
+	}
+
+	@Test
+	public void sortNotifiesOnlyMovedPositions() {
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(Arrays.asList(1, 2, 5, 4, 3)));
+		List<String> events = new ArrayList<>();
+		list.addListener(event -> events.add(event.getType() + " " + event.getElements() + " from "
+				+ event.getOldElements()), EnumSet.of(NotificationEventType.MODIFY));
+		list.sort(null);
+		list.sort(null);
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5), list);
+		assertEquals(Arrays.asList("MODIFY [3, 5] from [5, 3]"), events);
+	}
+}
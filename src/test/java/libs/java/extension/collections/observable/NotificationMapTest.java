@@ -0,0 +1,104 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+public class NotificationMapTest {
+
+	@Test
+	public void changeListenersReceiveTheirEventTypes() {
+		NotificationMap<String, Integer> map = new NotificationMap<>(new HashMap<>());
+		List<String> all = new ArrayList<>();
+		List<String> deletes = new ArrayList<>();
+		MapChangeListener<String, Integer> allListener = event -> all
+				.add(event.getType() + " " + event.getKey() + " " + event.getOldValue() + "->" + event.getNewValue());
+		MapChangeListener<String, Integer> deleteListener = event -> deletes.add(event.getKey());
+		map.addChangeListener(allListener, EnumSet.of(NotificationEventType.ADD, NotificationEventType.MODIFY,
+				NotificationEventType.DELETE));
+		map.addChangeListener(deleteListener, EnumSet.of(NotificationEventType.DELETE));
+		map.put("a", 1);
+		map.put("a", 2);
+		map.remove("a");
+		assertEquals(List.of("ADD a null->1", "MODIFY a 1->2", "DELETE a 2->null"), all);
+		assertEquals(List.of("a"), deletes);
+		assertTrue(map.removeChangeListener(allListener));
+		assertFalse(map.removeChangeListener(allListener));
+		map.put("b", 1);
+		assertEquals(3, all.size());
+	}
+
+	@Test
+	public void bulkChangesAreFilteredByEventType() {
+		NotificationMap<String, Integer> map = new NotificationMap<>(new HashMap<>(Map.of("a", 1)));
+		List<List<String>> batches = new ArrayList<>();
+		map.addChangeListener(new MapChangeListener<String, Integer>() {
+			public void onChange(MapChangeEvent<String, Integer> event) {
+				batches.add(List.of(event.getKey()));
+			}
+
+			public void onChanges(List<MapChangeEvent<String, Integer>> events) {
+				List<String> keys = new ArrayList<>();
+				events.forEach(event -> keys.add(event.getKey()));
+				batches.add(keys);
+			}
+		}, EnumSet.of(NotificationEventType.ADD));
+		Map<String, Integer> more = new HashMap<>();
+		more.put("a", 2);
+		more.put("b", 2);
+		more.put("c", 2);
+		map.putAll(more);
+		assertEquals(1, batches.size());
+		assertEquals(List.of("b", "c"), batches.get(0).stream().sorted().toList());
+	}
+
+	@Test
+	public void entrySetValueNullIsModify() {
+		NotificationMap<String, Integer> map = new NotificationMap<>(new HashMap<>(Map.of("a", 1)));
+		List<String> seen = new ArrayList<>();
+		map.addListener(event -> seen.add(event.getType() + " " + event.getElement().getValue()));
+		map.entrySet().iterator().next().setValue(null);
+		assertTrue(map.containsKey("a"));
+		assertEquals(List.of("MODIFY null"), seen);
+	}
+
+	@Test
+	public void keySetRemoveOfNullValueIsDelete() {
+		Map<String, Integer> initial = new HashMap<>();
+		initial.put("a", null);
+		NotificationMap<String, Integer> map = new NotificationMap<>(initial);
+		List<String> seen = new ArrayList<>();
+		map.addListener(event -> seen.add(event.getType() + " " + event.getElement().getKey()));
+		assertTrue(map.keySet().remove("a"));
+		assertFalse(map.keySet().remove("a"));
+		assertFalse(map.containsKey("a"));
+		assertEquals(List.of("DELETE a"), seen);
+	}
+
+	@Test
+	public void entrySetRemoveOfNullValueIsDelete() {
+		Map<String, Integer> initial = new HashMap<>();
+		initial.put("a", null);
+		NotificationMap<String, Integer> map = new NotificationMap<>(initial);
+		List<String> seen = new ArrayList<>();
+		List<String> changes = new ArrayList<>();
+		map.addListener(event -> seen.add(event.getType() + " " + event.getElement().getKey()));
+		map.addChangeListener(change -> changes.add(change.getType() + " " + change.getKey()));
+		assertFalse(map.entrySet().remove(new AbstractMap.SimpleEntry<>("a", 1)));
+		assertTrue(map.entrySet().remove(new AbstractMap.SimpleEntry<>("a", null)));
+		assertFalse(map.containsKey("a"));
+		assertEquals(List.of("DELETE a"), seen);
+		assertEquals(List.of("DELETE a"), changes);
+	}
+}
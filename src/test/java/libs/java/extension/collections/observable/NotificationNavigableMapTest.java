@@ -0,0 +1,39 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+public class NotificationNavigableMapTest {
+
+	@Test
+	public void listenerOfOverlappingRangesAndKeyNotifiedOnce() {
+		NotificationNavigableMap<Integer, String> map = new NotificationNavigableMap<>(new TreeMap<>());
+		List<Integer> seen = new ArrayList<>();
+		List<Integer> other = new ArrayList<>();
+		NotificationListener<KeyValue<Integer, String>> listener = event -> seen.add(event.getElement().getKey());
+		for (int low = 0; low < 10; low++) {
+			map.addListener(low, 20, listener);
+		}
+		map.addListener(5, listener);
+		map.addListener(15, null, event -> other.add(event.getElement().getKey()));
+		for (int key = -5; key < 25; key += 5) {
+			map.put(key, "v");
+		}
+		assertEquals(List.of(0, 5, 10, 15), seen);
+		assertEquals(List.of(15, 20), other);
+	}
+
+	@Test
+	public void clearSupplierNotSupported() {
+		NotificationNavigableMap<Integer, String> map = new NotificationNavigableMap<>(new TreeMap<>());
+		assertThrows(UnsupportedOperationException.class, () -> map.setClearSupplier(TreeMap::new));
+		assertThrows(UnsupportedOperationException.class,
+				() -> ((NotificationNavigableMap<Integer, String>) map.headMap(5, true)).setClearSupplier(TreeMap::new));
+	}
+}
@@ -0,0 +1,38 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+public class NotificationSetTest {
+
+	@Test
+	public void addAllWithoutListenersReportsChangeOnlyForInput() {
+		NotificationSet<String> set = new NotificationSet<>(new HashSet<>());
+		assertFalse(set.addAll(Collections.<String> emptyList()));
+		assertTrue(set.addAll(Arrays.asList("a", "b")));
+		assertEquals(2, set.size());
+	}
+
+	@Test
+	public void addAllNotifiesAddedElements() {
+		List<NotificationEvent<String>> events = new ArrayList<>();
+		NotificationSet<String> set = new NotificationSet<>(new HashSet<>());
+		set.addListener(events::add, EnumSet.of(NotificationEventType.ADD));
+		set.addAll(Arrays.asList("a", "b"));
+		assertEquals(1, events.size());
+		assertTrue(events.get(0).isMulti());
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(events.get(0).getElements()));
+	}
+}
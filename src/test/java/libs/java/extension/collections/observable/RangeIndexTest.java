@@ -0,0 +1,71 @@
+package libs.java.extension.collections.observable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.RangeIndex.Range;
+
+public class RangeIndexTest {
+
+	@Test
+	public void findMatchesBruteForce() {
+		check(null, new Random(7));
+	}
+
+	@Test
+	public void findMatchesBruteForceWithComparator() {
+		check(Comparator.reverseOrder(), new Random(11));
+	}
+
+	/**
+	 * Random puts and removes, after each one every key is looked up and
+	 * compared with a linear check of registered ranges
+	 */
+	private static void check(Comparator<Integer> comparator, Random random) {
+		RangeIndex<Integer, Range<Integer>> index = new RangeIndex<>(comparator);
+		// by toString, same ranges print same
+		Map<String, Range<Integer>> registered = new LinkedHashMap<>();
+		for (int step = 0; step < 400; step++) {
+			if (!registered.isEmpty() && random.nextInt(4) == 0) {
+				List<Range<Integer>> all = new ArrayList<>(registered.values());
+				Range<Integer> range = all.get(random.nextInt(all.size()));
+				registered.remove(range.toString());
+				assertSame(range, index.remove(range));
+			} else {
+				Range<Integer> range = randomRange(random);
+				registered.put(range.toString(), range);
+				index.put(range, range);
+			}
+			assertEquals(registered.size(), index.values().size());
+			for (int key = -2; key <= 42; key++) {
+				List<String> expected = new ArrayList<>();
+				for (Range<Integer> range : registered.values()) {
+					if (index.contains(range, key)) {
+						expected.add(range.toString());
+					}
+				}
+				List<String> found = new ArrayList<>();
+				for (Range<Integer> range : index.find(key)) {
+					found.add(range.toString());
+				}
+				expected.sort(null);
+				found.sort(null);
+				assertEquals(expected, found, "key " + key + " in " + registered.keySet());
+			}
+		}
+	}
+
+	private static Range<Integer> randomRange(Random random) {
+		return new Range<>(random.nextInt(41), random.nextInt(6) != 0, random.nextBoolean(), random.nextInt(41),
+				random.nextInt(6) != 0, random.nextBoolean());
+	}
+}
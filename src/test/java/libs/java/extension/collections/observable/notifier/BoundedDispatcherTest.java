@@ -0,0 +1,120 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.KeyValue;
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationMap;
+import libs.java.extension.collections.observable.NotificationSet;
+import libs.java.extension.collections.observable.notifier.BoundedDispatcher.OverflowPolicy;
+
+public class BoundedDispatcherTest {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+	private final Executor manual = tasks::add;
+
+	private void runTasks() {
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+	}
+
+	private NotificationMap<String, Integer> map(BoundedDispatcher dispatcher, Map<String, Integer> initial,
+			List<String> seen) {
+		NotificationMap<String, Integer> map = new NotificationMap<>(new HashMap<>(initial), dispatcher);
+		map.addListener(event -> {
+			KeyValue<String, Integer> kv = event.getElement();
+			KeyValue<String, Integer> old = event.getOldElement();
+			seen.add(event.getType() + " " + kv.getKey() + "=" + kv.getValue()
+					+ (old == null ? "" : " from " + old.getValue()));
+		});
+		return map;
+	}
+
+	@Test
+	public void conflatedEventMovesAfterEventsItFollows() {
+		BoundedDispatcher dispatcher = new BoundedDispatcher(manual, 2, OverflowPolicy.CONFLATE);
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(dispatcher, new HashMap<>(), seen);
+		map.put("a", 1);
+		map.put("b", 1);
+		map.put("a", 2);
+		runTasks();
+		assertEquals(List.of("ADD b=1", "ADD a=2"), seen);
+		assertEquals(1, dispatcher.getConflatedCount());
+		assertEquals(0, dispatcher.getDroppedCount());
+	}
+
+	@Test
+	public void addThenDeleteCancelOut() {
+		BoundedDispatcher dispatcher = new BoundedDispatcher(manual, 2, OverflowPolicy.CONFLATE);
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(dispatcher, new HashMap<>(), seen);
+		map.put("a", 1);
+		map.put("b", 1);
+		map.remove("a");
+		map.put("c", 1);
+		runTasks();
+		assertEquals(List.of("ADD b=1", "ADD c=1"), seen);
+		assertEquals(0, dispatcher.pending());
+	}
+
+	@Test
+	public void deleteThenAddIsModifyFromDeletedValue() {
+		BoundedDispatcher dispatcher = new BoundedDispatcher(manual, 2, OverflowPolicy.CONFLATE);
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(dispatcher, Map.of("a", 1), seen);
+		map.remove("a");
+		map.put("b", 1);
+		map.put("a", 2);
+		runTasks();
+		assertEquals(List.of("ADD b=1", "MODIFY a=2 from 1"), seen);
+	}
+
+	@Test
+	public void listEventsAreNotConflated() {
+		BoundedDispatcher dispatcher = new BoundedDispatcher(manual, 2, OverflowPolicy.CONFLATE);
+		List<String> seen = new ArrayList<>();
+		NotificationList<String> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		list.addListener(event -> seen.add(event.getType() + " " + event.getElement()));
+		list.add("x");
+		list.add("y");
+		list.add("x");
+		runTasks();
+		assertEquals(List.of("ADD y", "ADD x"), seen);
+		assertEquals(0, dispatcher.getConflatedCount());
+		assertEquals(1, dispatcher.getDroppedCount());
+	}
+
+	@Test
+	public void failFastRejectsRemovals() {
+		BoundedDispatcher dispatcher = new BoundedDispatcher(manual, 1, OverflowPolicy.FAIL_FAST);
+		NotificationList<String> list = new NotificationList<>(new ArrayList<>(List.of("x", "y", "z")), dispatcher);
+		list.addListener(event -> {
+		});
+		list.remove("x");
+		assertThrows(RejectedExecutionException.class, () -> list.remove("y"));
+		assertThrows(RejectedExecutionException.class, () -> list.remove(0));
+		NotificationSet<String> set = new NotificationSet<>(new HashSet<>(List.of("x", "y", "z")), dispatcher);
+		set.addListener(event -> {
+		});
+		assertThrows(RejectedExecutionException.class, () -> set.remove("x"));
+		assertThrows(RejectedExecutionException.class, () -> set.removeIf("y"::equals));
+		NotificationMap<String, Integer> map = map(dispatcher, Map.of("a", 1), new ArrayList<>());
+		assertThrows(RejectedExecutionException.class, () -> map.remove("a"));
+		assertEquals(5, dispatcher.getRejectedCount());
+		runTasks();
+		assertEquals(0, dispatcher.pending());
+	}
+}
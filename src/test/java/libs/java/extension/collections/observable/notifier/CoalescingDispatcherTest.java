@@ -0,0 +1,81 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+
+public class CoalescingDispatcherTest {
+
+	@Test
+	public void mergesConsecutiveEventsOfSameType() {
+		CoalescingDispatcher dispatcher = new CoalescingDispatcher(3, null);
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		List<String> seen = new ArrayList<>();
+		list.addListener(event -> seen.add(event.getType() + " " + event.getElements() + " " + event.getWeight()));
+		for (int i = 0; i < 4; i++) {
+			list.add(i);
+		}
+		list.remove(Integer.valueOf(0));
+		dispatcher.flush();
+		assertEquals(List.of("ADD [0, 1, 2] 3.0", "ADD [3] 1.0", "DELETE [0] 1.0"), seen);
+	}
+
+	@Test
+	public void countsMultiEventsWithoutElements() {
+		CoalescingDispatcher dispatcher = new CoalescingDispatcher(3, null);
+		ListenerRegistry<Integer> registry = new ListenerRegistry<>();
+		List<NotificationEvent<Integer>> seen = new ArrayList<>();
+		registry.add(seen::add);
+		for (int i = 0; i < 2; i++) {
+			dispatcher.dispatch(new NotificationEvent<Integer>(Collections.<Integer> emptyList(),
+					NotificationEventType.DELETE), registry.snapshot());
+		}
+		assertEquals(2, dispatcher.pending());
+		dispatcher.dispatch(new NotificationEvent<Integer>(Collections.<Integer> emptyList(),
+				NotificationEventType.DELETE), registry.snapshot());
+		assertEquals(0, dispatcher.pending());
+		assertEquals(1, seen.size());
+		assertTrue(seen.get(0).getElements().isEmpty());
+		assertEquals(3.0, seen.get(0).getWeight());
+	}
+
+	@Test
+	public void listenersAreNotCalledUnderLock() throws Exception {
+		CoalescingDispatcher dispatcher = new CoalescingDispatcher(1, null);
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+		list.addListener(event -> {
+			int value = event.getElements().iterator().next();
+			seen.add(value);
+			if (value == 0) {
+				// other thread mutates while listener runs
+				Thread other = new Thread(() -> list.add(1));
+				other.start();
+				join(other);
+				assertFalse(other.isAlive());
+				// listener mutates too, delivered after this event
+				list.add(2);
+			}
+		});
+		list.add(0);
+		assertEquals(List.of(0, 1, 2), seen);
+	}
+
+	private static void join(Thread thread) {
+		try {
+			thread.join(5000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.KeyValue;
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationMap;
+
+public class ConflatingDispatcherTest {
+
+	private final List<Runnable> tasks = new ArrayList<>();
+	private boolean reject;
+	private final Executor manual = task -> {
+		if (reject) {
+			throw new RejectedExecutionException();
+		}
+		tasks.add(task);
+	};
+
+	private void runTasks() {
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+	}
+
+	private final ConflatingDispatcher dispatcher = new ConflatingDispatcher(manual);
+
+	private NotificationMap<String, Integer> map(Map<String, Integer> initial, List<String> seen) {
+		NotificationMap<String, Integer> map = new NotificationMap<>(new HashMap<>(initial), dispatcher);
+		map.addListener(event -> {
+			if (event.isClear()) {
+				seen.add("CLEAR");
+				return;
+			}
+			KeyValue<String, Integer> kv = event.getElement();
+			KeyValue<String, Integer> old = event.getOldElement();
+			seen.add(event.getType() + " " + kv.getKey() + "=" + kv.getValue()
+					+ (old == null ? "" : " from " + old.getValue()));
+		});
+		return map;
+	}
+
+	@Test
+	public void mergesPendingEventsOfKey() {
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(Map.of("m", 1, "d", 1), seen);
+		map.put("a", 1);
+		map.put("a", 2);
+		map.put("b", 1);
+		map.remove("b");
+		map.put("m", 2);
+		map.put("m", 3);
+		map.remove("d");
+		map.put("d", 2);
+		runTasks();
+		assertEquals(List.of("ADD a=2", "MODIFY m=3 from 1", "MODIFY d=2 from 1"), seen);
+	}
+
+	@Test
+	public void rejectedLaneIsScheduledAgain() {
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(Map.of(), seen);
+		reject = true;
+		assertThrows(RejectedExecutionException.class, () -> map.put("a", 1));
+		reject = false;
+		map.put("b", 1);
+		runTasks();
+		assertEquals(List.of("ADD a=1", "ADD b=1"), seen);
+	}
+
+	@Test
+	public void eventsAreNotMergedAcrossClear() {
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(Map.of("a", 1), seen);
+		map.remove("a");
+		map.clear();
+		map.put("a", 2);
+		map.put("a", 3);
+		runTasks();
+		assertEquals(List.of("DELETE a=1", "CLEAR", "ADD a=3"), seen);
+		assertEquals(0, dispatcher.getLaneCount());
+	}
+
+	@Test
+	public void listEventsAreNotConflated() {
+		List<String> seen = new ArrayList<>();
+		NotificationList<String> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		list.addListener(event -> seen.add(event.getType() + " " + event.getElement()));
+		list.add("x");
+		list.add("x");
+		list.remove("x");
+		runTasks();
+		assertEquals(List.of("ADD x", "ADD x", "DELETE x"), seen);
+	}
+
+	@Test
+	public void changeListenerTasksRunInOrderAndLanesAreDropped() {
+		List<String> seen = new ArrayList<>();
+		NotificationMap<String, Integer> map = map(Map.of(), seen);
+		List<String> changes = new ArrayList<>();
+		map.addChangeListener(change -> changes.add(change.getType() + " " + change.getKey()));
+		map.put("a", 1);
+		map.put("b", 1);
+		map.remove("a");
+		// one task per lane, listener lane and task lane
+		assertEquals(2, tasks.size());
+		assertEquals(2, dispatcher.getLaneCount());
+		runTasks();
+		assertEquals(List.of("ADD a", "ADD b", "DELETE a"), changes);
+		assertEquals(List.of("ADD b=1"), seen);
+		assertEquals(0, dispatcher.getLaneCount());
+	}
+}
@@ -0,0 +1,92 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.KeyValue;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.NotificationMap;
+import libs.java.extension.collections.observable.notifier.ListenerRegistry.Snapshot;
+
+public class ListenerRegistryTest {
+
+	@Test
+	public void addAllCombinesEventTypesOfSameListener() {
+		NotificationListener<String> a = event -> {
+		};
+		NotificationListener<String> b = event -> {
+		};
+		ListenerRegistry<String> first = new ListenerRegistry<>();
+		first.add(a, EnumSet.of(NotificationEventType.ADD));
+		ListenerRegistry<String> second = new ListenerRegistry<>();
+		second.add(a, EnumSet.of(NotificationEventType.DELETE));
+		second.add(b, EnumSet.of(NotificationEventType.CLEAR));
+		ListenerRegistry<String> all = new ListenerRegistry<>();
+		all.addAll(first.snapshot());
+		all.addAll(second.snapshot());
+		Snapshot<String> snapshot = all.snapshot();
+		assertEquals(2, snapshot.size());
+		assertTrue(snapshot.accepts(0, NotificationEventType.ADD));
+		assertTrue(snapshot.accepts(0, NotificationEventType.DELETE));
+		assertFalse(snapshot.accepts(0, NotificationEventType.CLEAR));
+		assertTrue(snapshot.accepts(1, NotificationEventType.CLEAR));
+		// nothing new, snapshot is kept
+		all.addAll(first.snapshot());
+		assertSame(snapshot, all.snapshot());
+	}
+
+	@Test
+	public void unionKeepsEachListenerOnce() {
+		List<NotificationListener<String>> listeners = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			int id = i;
+			// capturing lambda, a distinct object per listener
+			listeners.add(event -> event.getElement().equals(String.valueOf(id)));
+		}
+		List<Snapshot<String>> snapshots = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			ListenerRegistry<String> registry = new ListenerRegistry<>();
+			for (int j = i; j < i + 10; j++) {
+				registry.add(listeners.get(j));
+			}
+			snapshots.add(registry.snapshot());
+		}
+		ListenerRegistry<String> union = ListenerRegistry.union(snapshots, true);
+		assertEquals(59, union.size());
+		assertTrue(union.snapshot().isDistinct());
+		for (int i = 0; i < 59; i++) {
+			assertTrue(union.contains(listeners.get(i)));
+		}
+	}
+
+	@Test
+	public void mapClearNotifiesKeyListenersOnce() {
+		NotificationMap<Integer, Integer> map = new NotificationMap<>(new HashMap<>());
+		AtomicInteger clears = new AtomicInteger();
+		NotificationListener<KeyValue<Integer, Integer>> shared = event -> clears.incrementAndGet();
+		map.addListener(shared);
+		for (int key = 0; key < 2000; key++) {
+			map.put(key, key);
+			map.addListener(key, shared);
+			map.addListener(key, event -> {
+				if (event.isClear()) {
+					clears.incrementAndGet();
+				}
+			});
+		}
+		clears.set(0);
+		map.clear();
+		assertEquals(2001, clears.get());
+	}
+}
@@ -0,0 +1,119 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationListener;
+import libs.java.extension.collections.observable.notifier.OrderedDispatcher.LaneMode;
+
+public class OrderedDispatcherTest {
+
+	private ExecutorService pool;
+
+	@BeforeEach
+	public void setUp() {
+		pool = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void perSourceDeliversInMutationOrder() throws Exception {
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), new OrderedDispatcher(pool));
+		List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(2000);
+		for (int l = 0; l < 2; l++) {
+			list.addListener(new NotificationListener<Integer>() {
+				public void onEvent(NotificationEvent<Integer> event) {
+					seen.add(event.getElement());
+					done.countDown();
+				}
+			});
+		}
+		for (int i = 0; i < 1000; i++) {
+			list.add(i);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		// both listeners of an event are notified before next event
+		for (int i = 0; i < 2000; i++) {
+			assertEquals(i / 2, seen.get(i).intValue());
+		}
+	}
+
+	@Test
+	public void perListenerKeepsOrderAndDropsIdleLanes() throws Exception {
+		OrderedDispatcher dispatcher = new OrderedDispatcher(pool, LaneMode.PER_LISTENER);
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		List<Integer> slow = Collections.synchronizedList(new ArrayList<>());
+		List<Integer> fast = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(1000);
+		list.addListener(event -> {
+			if (event.getElement() % 100 == 0) {
+				sleep(5);
+			}
+			slow.add(event.getElement());
+			done.countDown();
+		});
+		list.addListener(event -> {
+			fast.add(event.getElement());
+			done.countDown();
+		});
+		for (int i = 0; i < 500; i++) {
+			list.add(i);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		for (int i = 0; i < 500; i++) {
+			assertEquals(i, slow.get(i).intValue());
+			assertEquals(i, fast.get(i).intValue());
+		}
+		long deadline = System.currentTimeMillis() + 5000;
+		while (dispatcher.getListenerLaneCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(0, dispatcher.getListenerLaneCount());
+	}
+
+	@Test
+	public void manyShortLivedListenersLeaveNoLanes() throws Exception {
+		OrderedDispatcher dispatcher = new OrderedDispatcher(pool, LaneMode.PER_LISTENER);
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		CountDownLatch done = new CountDownLatch(200);
+		for (int i = 0; i < 200; i++) {
+			NotificationListener<Integer> listener = event -> done.countDown();
+			list.addListener(listener);
+			list.add(i);
+			list.removeListener(listener);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		long deadline = System.currentTimeMillis() + 5000;
+		while (dispatcher.getListenerLaneCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(0, dispatcher.getListenerLaneCount());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationEvent;
+import libs.java.extension.collections.observable.NotificationListener.NotificationEventType;
+import libs.java.extension.collections.observable.NotificationMap;
+
+public class PartitionedDispatcherTest {
+
+	private static final int ITERATIONS = 200;
+
+	private ExecutorService pool;
+
+	@BeforeEach
+	public void setUp() {
+		// fewer threads than lanes, barrier must not hold threads
+		pool = Executors.newFixedThreadPool(3);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void clearIsOrderedWithAllLanes() throws Exception {
+		NotificationMap<Integer, Integer> map = new NotificationMap<>(new HashMap<>(),
+				new PartitionedDispatcher(pool, 8));
+		List<String> events = Collections.synchronizedList(new ArrayList<>());
+		List<String> changes = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(6 * ITERATIONS);
+		map.addListener(event -> {
+			if (event.isClear()) {
+				events.add("CLEAR");
+			} else {
+				slowDown(event.getElement().getKey());
+				events.add(event.getType() + " " + event.getElement().getKey());
+			}
+			done.countDown();
+		});
+		map.addChangeListener(event -> {
+			if (event.isClear()) {
+				changes.add("CLEAR");
+			} else {
+				slowDown(event.getKey());
+				changes.add(event.getType() + " " + event.getKey());
+			}
+			done.countDown();
+		});
+		for (int i = 0; i < ITERATIONS; i++) {
+			map.put(i, i);
+			map.clear();
+			map.put(i, i);
+		}
+		assertTrue(done.await(20, TimeUnit.SECONDS));
+		assertSegments(events);
+		assertSegments(changes);
+	}
+
+	@Test
+	public void eventsOfKeyKeepOrder() throws Exception {
+		NotificationMap<Integer, Integer> map = new NotificationMap<>(new HashMap<>(),
+				new PartitionedDispatcher(pool, 4));
+		Map<Integer, List<Integer>> seen = new HashMap<>();
+		CountDownLatch done = new CountDownLatch(16 * ITERATIONS);
+		map.addListener(event -> {
+			slowDown(event.getElement().getValue());
+			synchronized (seen) {
+				seen.computeIfAbsent(event.getElement().getKey(), k -> new ArrayList<>())
+						.add(event.getElement().getValue());
+			}
+			done.countDown();
+		});
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (int key = 0; key < 16; key++) {
+				map.put(key, i);
+			}
+		}
+		assertTrue(done.await(20, TimeUnit.SECONDS));
+		for (int key = 0; key < 16; key++) {
+			List<Integer> values = seen.get(key);
+			assertEquals(ITERATIONS, values.size());
+			for (int i = 0; i < ITERATIONS; i++) {
+				assertEquals(i, values.get(i).intValue());
+			}
+		}
+	}
+
+	@Test
+	public void executeWaitsForAllLanes() throws Exception {
+		PartitionedDispatcher dispatcher = new PartitionedDispatcher(pool, 8);
+		List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(1);
+		for (int key = 0; key < 64; key++) {
+			int value = key;
+			dispatcher.execute(key, () -> {
+				slowDown(value);
+				seen.add(value);
+			});
+		}
+		dispatcher.execute(() -> {
+			seen.add(-1);
+			done.countDown();
+		});
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(65, seen.size());
+		assertEquals(-1, seen.get(64).intValue());
+	}
+
+	@Test
+	public void concurrentBarriersDoNotDeadlock() throws Exception {
+		PartitionedDispatcher dispatcher = new PartitionedDispatcher(pool, 4);
+		int producers = 4;
+		int perProducer = 2000;
+		AtomicInteger run = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(producers * perProducer * 2);
+		List<Thread> threads = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			threads.add(new Thread(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					dispatcher.execute(() -> {
+						run.incrementAndGet();
+						done.countDown();
+					});
+					dispatcher.execute(Integer.valueOf(i), done::countDown);
+				}
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(done.await(20, TimeUnit.SECONDS));
+		assertEquals(producers * perProducer, run.get());
+	}
+
+	@Test
+	public void splitEventsShareWeight() throws Exception {
+		PartitionedDispatcher dispatcher = new PartitionedDispatcher(pool, 4);
+		ListenerRegistry<Integer> registry = new ListenerRegistry<>();
+		List<NotificationEvent<Integer>> parts = Collections.synchronizedList(new ArrayList<>());
+		registry.add(parts::add);
+		List<Integer> elements = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			elements.add(i);
+		}
+		dispatcher.dispatch(new NotificationEvent<>(elements, NotificationEventType.READ, 8.0), registry.snapshot());
+		CountDownLatch done = new CountDownLatch(1);
+		dispatcher.execute(done::countDown);
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(parts.size() > 1);
+		double weight = 0;
+		int size = 0;
+		for (NotificationEvent<Integer> part : parts) {
+			weight += part.getWeight();
+			size += part.getElements().size();
+		}
+		assertEquals(64, size);
+		assertEquals(8.0, weight, 1e-9);
+	}
+
+	/**
+	 * Loop i gives ADD i, CLEAR, ADD i, so events between CLEARs are ADDs of
+	 * previous and current key in any order
+	 */
+	private static void assertSegments(List<String> seen) {
+		List<Set<String>> segments = new ArrayList<>();
+		segments.add(new HashSet<>());
+		synchronized (seen) {
+			for (String event : seen) {
+				if (event.equals("CLEAR")) {
+					segments.add(new HashSet<>());
+				} else {
+					segments.get(segments.size() - 1).add(event);
+				}
+			}
+		}
+		assertEquals(ITERATIONS + 1, segments.size());
+		assertEquals(Set.of("ADD 0"), segments.get(0));
+		for (int i = 1; i < ITERATIONS; i++) {
+			assertEquals(Set.of("ADD " + (i - 1), "ADD " + i), segments.get(i));
+		}
+		assertEquals(Set.of("ADD " + (ITERATIONS - 1)), segments.get(ITERATIONS));
+	}
+
+	private static void slowDown(int value) {
+		if (value % 17 == 0) {
+			try {
+				Thread.sleep(1);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
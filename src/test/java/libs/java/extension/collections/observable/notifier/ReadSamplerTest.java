@@ -0,0 +1,53 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+
+import org.junit.jupiter.api.Test;
+
+public class ReadSamplerTest {
+
+	@Test
+	public void everyNthCountsPerThread() throws Exception {
+		ReadSampler sampler = ReadSampler.everyNth(10);
+		DoubleAdder weight = new DoubleAdder();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			threads.add(new Thread(() -> {
+				int sampled = 0;
+				for (int i = 0; i < 1000; i++) {
+					double w = sampler.sample();
+					if (w > 0) {
+						sampled++;
+						weight.add(w);
+					}
+				}
+				assertEquals(100, sampled);
+			}));
+		}
+		threads.forEach(Thread::start);
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(4000, weight.sum(), 0);
+	}
+
+	@Test
+	public void rateLimitSamplesBurstThenSkips() {
+		ReadSampler sampler = ReadSampler.rateLimit(0.001, 3);
+		double weight = 0;
+		int sampled = 0;
+		for (int i = 0; i < 100; i++) {
+			double w = sampler.sample();
+			if (w > 0) {
+				sampled++;
+				weight += w;
+			}
+		}
+		assertEquals(3, sampled);
+		assertEquals(3, weight, 0);
+	}
+}
@@ -0,0 +1,138 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.notifier.RingBufferDispatcher.ProducerType;
+import libs.java.extension.collections.observable.notifier.RingBufferDispatcher.WaitStrategy;
+
+public class RingBufferDispatcherTest {
+
+	@Test
+	public void allSlotsAreUsable() throws Exception {
+		try (RingBufferDispatcher dispatcher = new RingBufferDispatcher(4, ProducerType.MULTI,
+				WaitStrategy.BLOCKING)) {
+			CountDownLatch blocked = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			dispatcher.execute(() -> {
+				blocked.countDown();
+				await(release);
+			});
+			assertTrue(blocked.await(5, TimeUnit.SECONDS));
+			// slot of running task is still taken, 3 others are free
+			Thread producer = new Thread(() -> {
+				for (int i = 0; i < 3; i++) {
+					dispatcher.execute(() -> {
+					});
+				}
+			});
+			producer.start();
+			producer.join(5000);
+			assertFalse(producer.isAlive());
+			Thread full = new Thread(() -> dispatcher.execute(() -> {
+			}));
+			full.start();
+			full.join(200);
+			assertTrue(full.isAlive());
+			release.countDown();
+			full.join(5000);
+			assertFalse(full.isAlive());
+		}
+	}
+
+	@Test
+	public void listenerMutatingCollectionWithFullBufferDoesNotDeadlock() throws Exception {
+		try (RingBufferDispatcher dispatcher = new RingBufferDispatcher(2, ProducerType.MULTI,
+				WaitStrategy.BLOCKING)) {
+			NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+			List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+			CountDownLatch done = new CountDownLatch(40);
+			list.addListener(event -> {
+				int value = event.getElement();
+				seen.add(value);
+				if (value < 20) {
+					list.add(value + 20);
+				}
+				done.countDown();
+			});
+			for (int i = 0; i < 20; i++) {
+				list.add(i);
+			}
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+			// nested event follows event which caused it
+			for (int i = 0; i < seen.size(); i++) {
+				if (seen.get(i) < 20) {
+					assertEquals(seen.get(i) + 20, seen.get(i + 1).intValue());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void publishAfterCloseIsDropped() throws Exception {
+		RingBufferDispatcher dispatcher = new RingBufferDispatcher(8, ProducerType.SINGLE, WaitStrategy.YIELDING);
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		AtomicInteger delivered = new AtomicInteger();
+		list.addListener(event -> delivered.incrementAndGet());
+		list.add(1);
+		dispatcher.close();
+		assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+		list.add(2);
+		assertEquals(2, list.size());
+		assertEquals(1, delivered.get());
+		assertEquals(1, dispatcher.getDroppedCount());
+	}
+
+	@Test
+	public void multiProducerKeepsOrderOfEachProducer() throws Exception {
+		try (RingBufferDispatcher dispatcher = new RingBufferDispatcher(16, ProducerType.MULTI,
+				WaitStrategy.YIELDING)) {
+			int producers = 4;
+			int events = 5000;
+			int[] last = new int[producers];
+			AtomicInteger errors = new AtomicInteger();
+			CountDownLatch done = new CountDownLatch(producers * events);
+			for (int p = 0; p < producers; p++) {
+				last[p] = -1;
+			}
+			List<Thread> threads = new ArrayList<>();
+			for (int p = 0; p < producers; p++) {
+				int producer = p;
+				threads.add(new Thread(() -> {
+					for (int i = 0; i < events; i++) {
+						int value = i;
+						dispatcher.execute(() -> {
+							if (last[producer] != value - 1) {
+								errors.incrementAndGet();
+							}
+							last[producer] = value;
+							done.countDown();
+						});
+					}
+				}));
+			}
+			threads.forEach(Thread::start);
+			assertTrue(done.await(30, TimeUnit.SECONDS));
+			assertEquals(0, errors.get());
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
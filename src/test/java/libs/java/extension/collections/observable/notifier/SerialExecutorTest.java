@@ -0,0 +1,78 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+public class SerialExecutorTest {
+
+	@Test
+	public void runsTasksInSubmissionOrder() throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			SerialExecutor lane = new SerialExecutor(pool, 8);
+			List<Integer> order = new ArrayList<>();
+			CountDownLatch done = new CountDownLatch(1000);
+			for (int i = 0; i < 1000; i++) {
+				int value = i;
+				lane.execute(() -> {
+					order.add(value);
+					done.countDown();
+				});
+			}
+			assertTrue(done.await(10, TimeUnit.SECONDS));
+			for (int i = 0; i < 1000; i++) {
+				assertEquals(i, order.get(i).intValue());
+			}
+			assertEquals(0, lane.pending());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void pendingCountsQueuedTasks() {
+		List<Runnable> submitted = new ArrayList<>();
+		SerialExecutor lane = new SerialExecutor(submitted::add);
+		lane.execute(() -> {
+		});
+		lane.execute(() -> {
+		});
+		assertEquals(2, lane.pending());
+		assertEquals(1, submitted.size());
+		submitted.get(0).run();
+		assertEquals(0, lane.pending());
+	}
+
+	@Test
+	public void rejectedTaskIsTakenBackAndLaneStaysUsable() {
+		AtomicBoolean reject = new AtomicBoolean(true);
+		Executor executor = task -> {
+			if (reject.get()) {
+				throw new RejectedExecutionException();
+			}
+			task.run();
+		};
+		SerialExecutor lane = new SerialExecutor(executor);
+		AtomicBoolean rejectedRan = new AtomicBoolean();
+		assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> rejectedRan.set(true)));
+		assertEquals(0, lane.pending());
+		reject.set(false);
+		AtomicBoolean ran = new AtomicBoolean();
+		lane.execute(() -> ran.set(true));
+		assertTrue(ran.get());
+		assertTrue(!rejectedRan.get());
+	}
+}
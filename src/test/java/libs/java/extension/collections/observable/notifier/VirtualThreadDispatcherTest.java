@@ -0,0 +1,99 @@
+package libs.java.extension.collections.observable.notifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import libs.java.extension.collections.observable.NotificationList;
+import libs.java.extension.collections.observable.NotificationListener;
+
+public class VirtualThreadDispatcherTest {
+
+	@Test
+	public void concurrencyOneKeepsOrderPerListener() throws Exception {
+		VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher();
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		List<Integer> slow = Collections.synchronizedList(new ArrayList<>());
+		List<Integer> fast = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(1000);
+		list.addListener(event -> {
+			if (event.getElement() % 100 == 0) {
+				sleep(5);
+			}
+			slow.add(event.getElement());
+			done.countDown();
+		});
+		list.addListener(event -> {
+			fast.add(event.getElement());
+			done.countDown();
+		});
+		for (int i = 0; i < 500; i++) {
+			list.add(i);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		for (int i = 0; i < 500; i++) {
+			assertEquals(i, slow.get(i).intValue());
+			assertEquals(i, fast.get(i).intValue());
+		}
+		awaitNoLanes(dispatcher);
+	}
+
+	@Test
+	public void concurrencyIsLimitedPerListener() throws Exception {
+		VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher(3);
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		CountDownLatch done = new CountDownLatch(50);
+		list.addListener(event -> {
+			peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+			sleep(2);
+			running.decrementAndGet();
+			done.countDown();
+		});
+		for (int i = 0; i < 50; i++) {
+			list.add(i);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertTrue(peak.get() <= 3);
+	}
+
+	@Test
+	public void manyShortLivedListenersLeaveNoLanes() throws Exception {
+		VirtualThreadDispatcher dispatcher = new VirtualThreadDispatcher();
+		NotificationList<Integer> list = new NotificationList<>(new ArrayList<>(), dispatcher);
+		CountDownLatch done = new CountDownLatch(200);
+		for (int i = 0; i < 200; i++) {
+			NotificationListener<Integer> listener = event -> done.countDown();
+			list.addListener(listener);
+			list.add(i);
+			list.removeListener(listener);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		awaitNoLanes(dispatcher);
+	}
+
+	private static void awaitNoLanes(VirtualThreadDispatcher dispatcher) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (dispatcher.getLaneCount() > 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(1);
+		}
+		assertEquals(0, dispatcher.getLaneCount());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}